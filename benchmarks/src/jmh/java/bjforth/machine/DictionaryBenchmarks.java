@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static bjforth.machine.DictionaryBuilder.aDictionary;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Dictionary lookups by name and by address in a dictionary of a few hundred words. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DictionaryBenchmarks {
+
+  private static final int WORDS = 512;
+
+  private Dictionary dictionary;
+  private final String[] names = new String[WORDS];
+  private final Integer[] addresses = new Integer[WORDS];
+  private int next = 0;
+
+  @Setup
+  public void setUp() {
+    var builder = aDictionary();
+    for (int i = 0; i < WORDS; i++) {
+      names[i] = "WORD" + i;
+      addresses[i] = 1000 + 8 * i;
+      builder.with(names[i], new DictionaryItem(names[i], addresses[i], false, false));
+    }
+    dictionary = builder.build();
+  }
+
+  @Benchmark
+  public Object getByName() {
+    return dictionary.get(names[next++ & (WORDS - 1)]);
+  }
+
+  @Benchmark
+  public Object getByAddress() {
+    return dictionary.get(addresses[next++ & (WORDS - 1)]);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Starting machines from one image of {@value #IMAGE_CELLS} cells and {@value #IMAGE_WORDS} words,
+ * and running them on a {@link MachineRuntime}, per machine.
+ *
+ * <p>With the gc profiler ({@code -prof gc}), gc.alloc.rate.norm is the heap a machine takes when
+ * it starts ({@code newMachine}) and once it has run, writing one cell ({@code launch}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MachineRuntimeBenchmarks {
+
+  private static final int IMAGE_CELLS = 1 << 18;
+  private static final int IMAGE_WORDS = 500;
+  private static final int DATA_ADDRESS = 8;
+  private static final int MACHINES = 1000;
+
+  private MachineImage image;
+
+  @Setup
+  public void setUp() {
+    image = new MachineImage(bootstrapped());
+  }
+
+  @Benchmark
+  public Machine newMachine() {
+    return image.newMachine(new MachineContext());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MACHINES)
+  public long launch() throws InterruptedException, ExecutionException {
+    var results = new ArrayList<Future<RunResult>>(MACHINES);
+    try (var runtime = new MachineRuntime(image)) {
+      for (int i = 0; i < MACHINES; i++) {
+        results.add(runtime.launch(new MachineContext()));
+      }
+    }
+    long steps = 0;
+    for (var result : results) {
+      steps += result.get().steps();
+    }
+    return steps;
+  }
+
+  /** A machine with a large code space, a full dictionary and a program writing one cell. */
+  private static Machine bootstrapped() {
+    var memory = new Memory();
+    var dictionary = new Dictionary();
+    for (int i = 0; i < IMAGE_CELLS; i++) {
+      memory.set(16 + i, i);
+    }
+    for (int i = 0; i < IMAGE_WORDS; i++) {
+      dictionary.put("WORD" + i, new DictionaryItem("WORD" + i, 16 + i, false, false));
+    }
+    NativeSubroutine program =
+        machine -> {
+          machine.setMemoryAt(DATA_ADDRESS, machine.getInstrcutionPointer());
+          machine.halt(0);
+        };
+    memory.set(0, program);
+    var state = new MachineState(0, 1, memory, dictionary, new Stack(), new Stack());
+    return new Machine(state);
+  }
+}
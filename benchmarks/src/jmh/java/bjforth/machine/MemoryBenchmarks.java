@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Memory.get/set over a contiguous range of cells, in either layout. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MemoryBenchmarks {
+
+  private static final int CELLS = 1 << 14;
+  private static final Object VALUE = new Object();
+
+  @Param({"PAGED", "SPARSE"})
+  public String layout;
+
+  private Memory memory;
+
+  @Setup
+  public void setUp() {
+    memory = new Memory(Memory.Layout.valueOf(layout));
+    for (int i = 0; i < CELLS; i++) {
+      memory.set(4 + i, VALUE);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public void set() {
+    for (int i = 0; i < CELLS; i++) {
+      memory.set(4 + i, VALUE);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public void get(Blackhole blackhole) {
+    for (int i = 0; i < CELLS; i++) {
+      blackhole.consume(memory.get(4 + i));
+    }
+  }
+}
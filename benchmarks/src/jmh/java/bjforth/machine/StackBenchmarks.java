@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Stack.push/pop and setPointer, as the parameter and return stacks use them. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StackBenchmarks {
+
+  private static final int DEPTH = 64;
+  private static final Integer VALUE = 42;
+
+  private final Stack stack = new Stack();
+
+  @Benchmark
+  @OperationsPerInvocation(DEPTH)
+  public void pushPop(Blackhole blackhole) {
+    for (int i = 0; i < DEPTH; i++) {
+      stack.push(VALUE);
+    }
+    for (int i = 0; i < DEPTH; i++) {
+      blackhole.consume(stack.pop());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(DEPTH)
+  public void setPointer(Blackhole blackhole) {
+    for (int i = 0; i < DEPTH; i++) {
+      stack.push(VALUE);
+    }
+    stack.setPointer(0);
+    blackhole.consume(stack.pop());
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+
+import bjforth.machine.Machine;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Each arithmetic and comparison primitive on a pair of operands of the same number type: push
+ * both, execute, pop the result.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArithmeticBenchmarks {
+
+  @Param({"ADD", "SUB", "MUL", "DIV", "MOD", "EQU", "NEQU", "LT", "GT", "LTE", "GE"})
+  public String word;
+
+  @Param({"Integer", "Long", "Double", "BigInteger", "BigDecimal"})
+  public String type;
+
+  private Machine machine;
+  private Primitive primitive;
+  private Object operand1;
+  private Object operand2;
+
+  @Setup
+  public void setUp() {
+    machine = aMachine().withState(aMachineState().build()).build();
+    primitive = PrimitiveFactory.byName(word).orElseThrow();
+    operand1 = operand(1_234_567L);
+    operand2 = operand(89L);
+  }
+
+  private Object operand(long value) {
+    return switch (type) {
+      case "Integer" -> (int) value;
+      case "Long" -> value << 24;
+      case "Double" -> value + 0.5;
+      case "BigInteger" -> BigInteger.valueOf(value).shiftLeft(64);
+      case "BigDecimal" -> BigDecimal.valueOf(value, 2);
+      default -> throw new IllegalArgumentException(type);
+    };
+  }
+
+  @Benchmark
+  public Object execute() {
+    machine.pushToParameterStack(operand1);
+    machine.pushToParameterStack(operand2);
+    primitive.execute(machine);
+    return machine.popFromParameterStack();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.primitives.WordFixtures.COUNTDOWN;
+import static bjforth.primitives.WordFixtures.aStateCalling;
+import static bjforth.primitives.WordFixtures.call;
+
+import bjforth.machine.Machine;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The inner interpreter running a threaded-code countdown loop, with and without tiered
+ * compilation. One operation is one trip round the loop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InnerLoopBenchmarks {
+
+  private static final int COUNT = 1000;
+
+  @Param({"false", "true"})
+  public boolean tiered;
+
+  private Machine machine;
+
+  @Setup
+  public void setUp() {
+    machine = aMachine().withState(aStateCalling(COUNTDOWN).build()).build();
+    if (tiered) {
+      machine.setTieringHook(new TieredExecution());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COUNT)
+  public Object countdown() {
+    machine.pushToParameterStack(COUNT);
+    call(machine);
+    return machine.popFromParameterStack();
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+
+import bjforth.machine.InputSource;
+import bjforth.machine.Machine;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** WORD splitting a block of source text, comments included, into tokens. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WordBenchmarks {
+
+  private static final int LINES = 1000;
+  private static final String LINE = ": SQUARE DUP * ; \\ n -- n*n\n10 SQUARE 2 + EMIT \n";
+  private static final int WORDS_PER_LINE = 10;
+  private static final String TEXT = LINE.repeat(LINES);
+
+  private final Primitive word = PrimitiveFactory.WORD();
+  private Machine machine;
+
+  @Setup(Level.Invocation)
+  public void setUp() {
+    machine = aMachine().withState(aMachineState().build()).build();
+    machine.setInputSource(InputSource.of(TEXT));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LINES * WORDS_PER_LINE)
+  public void tokenize(Blackhole blackhole) {
+    for (int i = 0; i < LINES * WORDS_PER_LINE; i++) {
+      word.execute(machine);
+      blackhole.consume(machine.popFromParameterStack());
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth;
+
+import bjforth.bootstrap.Bootstrap;
+import bjforth.machine.InputSource;
+import bjforth.machine.Machine;
+import bjforth.machine.MachineContext;
+import bjforth.machine.MachineException;
+import bjforth.machine.OutputSink;
+import bjforth.primitives.Interpreter;
+import java.io.ByteArrayInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Runs Forth source: the files named on the command line one after the other, "-" standing for
+ * the standard input, or the standard input if there are none.
+ *
+ * <p>An error is reported and interpreting carries on with the next word. With {@code --stats} how
+ * many lines were read and how fast is reported once the input ends.
+ */
+public class BJForth {
+
+  private static final String USAGE = "usage: bjforth [--stats] [FILE|-]...";
+
+  public static void main(String[] args) throws IOException {
+    var stats = false;
+    var inputs = new ArrayList<InputStream>();
+    for (var arg : args) {
+      if (arg.equals("--stats")) {
+        stats = true;
+        continue;
+      }
+      if (arg.equals("-")) {
+        inputs.add(System.in);
+      } else if (arg.startsWith("-")) {
+        System.err.println(USAGE);
+        System.exit(2);
+      } else {
+        try {
+          inputs.add(Files.newInputStream(Path.of(arg)));
+        } catch (IOException e) {
+          System.err.println("bjforth: can't read " + arg + ": " + e.getMessage());
+          System.exit(2);
+        }
+      }
+      // A file's last word mustn't run into the next file's first.
+      inputs.add(new ByteArrayInputStream(new byte[] {'\n'}));
+    }
+    var separators = inputs.size() / 2;
+    if (inputs.isEmpty()) {
+      inputs.add(System.in);
+    }
+
+    var reader =
+        new LineCountingReader(
+            new InputStreamReader(
+                new SequenceInputStream(Collections.enumeration(inputs)), StandardCharsets.UTF_8));
+    var output = OutputSink.stdout();
+    var machine = new Machine(new MachineContext(new InputSource(reader), output));
+    new Bootstrap().apply(machine);
+    Interpreter.install(machine);
+
+    var start = System.nanoTime();
+    while (!machine.isHalted()) {
+      try {
+        machine.run();
+      } catch (RuntimeException e) {
+        // Primitives can fail with more than MachineException, eg 1 0 / with ArithmeticException.
+        output.flush();
+        System.err.println("bjforth: " + (e instanceof MachineException ? e.getMessage() : e));
+        Interpreter.restart(machine);
+      }
+    }
+    output.flush();
+    if (stats) {
+      var seconds = (System.nanoTime() - start) / 1e9;
+      var lines = Math.max(0, reader.lines - separators);
+      System.err.printf(
+          "bjforth: %d lines in %.3f s, %.0f lines/s%n", lines, seconds, lines / seconds);
+    }
+    System.exit(machine.getExitCode());
+  }
+
+  /** Counts the lines as they are read, in the blocks InputSource reads them in. */
+  private static class LineCountingReader extends FilterReader {
+
+    private long lines = 0;
+
+    LineCountingReader(Reader in) {
+      super(in);
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+      var read = super.read(buffer, offset, length);
+      for (var i = offset; i < offset + read; i++) {
+        if (buffer[i] == '\n') {
+          lines++;
+        }
+      }
+      return read;
+    }
+  }
+}
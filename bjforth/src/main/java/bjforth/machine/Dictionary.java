@@ -18,41 +18,314 @@
  */
 package bjforth.machine;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
+/**
+ * Words, kept in the order they're defined.
+ *
+ * <p>Two open-addressing tables index the entries: one from a name to the latest entry with that
+ * name and one from an address to the first entry defined at it. Redefining a name shadows the
+ * previous entry, which is remembered in {@code shadowed} rather than in a list per name.
+ *
+ * <p>A dictionary can be an overlay on a {@code base} nobody defines words in any more, eg a
+ * MachineImage's: new definitions go to the overlay and lookups fall back to the base. An item of
+ * the base is copied into the overlay as soon as it's looked up by address, which is how HIDDEN
+ * and IMMEDIATE find the item they change, so the base's items are never modified.
+ *
+ * <p>A copy shares the tables with the original until either of them defines a word, which clones
+ * them, so copying a dictionary is cheap. The items are shared too, until either dictionary looks
+ * one up by address: it then gets a copy of the item, the same way an overlay gets a copy of a base
+ * item.
+ */
 class Dictionary {
 
-  final Map<String, List<DictionaryItem>> items = new HashMap<>();
-  final Map<Integer, String> reverseLookup = new HashMap<>();
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int NONE = -1;
+  /** In {@code shadowed}: an entry which can only be found by address. */
+  private static final int ADDRESS_ONLY = -2;
+
+  private DictionaryItem[] entries = new DictionaryItem[INITIAL_CAPACITY];
+  private String[] entryNames = new String[INITIAL_CAPACITY];
+  private int[] shadowed = new int[INITIAL_CAPACITY];
+  private int size = 0;
+  /** The entries whose items no other dictionary refers to. */
+  private BitSet owned = new BitSet();
+
+  private String[] names = new String[INITIAL_CAPACITY];
+  private int[] latest = new int[INITIAL_CAPACITY];
+  private int nameCount = 0;
+  /** The names defined here which the base doesn't have; see {@link #countWords()}. */
+  private int newNames = 0;
+
+  // addressEntries holds the entry index + 1, so that 0 marks a free slot.
+  private int[] addresses = new int[INITIAL_CAPACITY];
+  private int[] addressEntries = new int[INITIAL_CAPACITY];
+  private int addressCount = 0;
+
+  private Dictionary base = null;
+  private boolean shared = false;
 
   Dictionary() {}
 
+  /** An empty dictionary on top of {@code base}. */
+  static Dictionary overlay(Dictionary base) {
+    var overlay = new Dictionary();
+    overlay.base = base;
+    return overlay;
+  }
+
   Dictionary(Dictionary other) {
-    items.putAll(other.items);
-    other.items.forEach(
-        (name, items) -> {
-          reverseLookup.putIfAbsent(items.get(0).getAddress(), name);
-        });
+    base = other.base;
+    entries = other.entries;
+    entryNames = other.entryNames;
+    shadowed = other.shadowed;
+    size = other.size;
+    names = other.names;
+    latest = other.latest;
+    nameCount = other.nameCount;
+    newNames = other.newNames;
+    addresses = other.addresses;
+    addressEntries = other.addressEntries;
+    addressCount = other.addressCount;
+    shared = true;
+    other.shared = true;
+    other.owned = new BitSet();
   }
 
   public void put(String name, DictionaryItem item) {
-    List<DictionaryItem> currentValue;
-    if (items.containsKey(name)) {
-      currentValue = items.get(name);
+    add(name, item, true);
+  }
+
+  private void add(String name, DictionaryItem item, boolean byName) {
+    if (shared) {
+      unshare();
+    }
+    if (size == entries.length) {
+      var capacity = size * 2;
+      entries = Arrays.copyOf(entries, capacity);
+      entryNames = Arrays.copyOf(entryNames, capacity);
+      shadowed = Arrays.copyOf(shadowed, capacity);
+    }
+    var index = size++;
+    entries[index] = item;
+    owned.set(index);
+    entryNames[index] = name;
+
+    var slot = nameSlot(names, name);
+    if (!byName) {
+      shadowed[index] = ADDRESS_ONLY;
+    } else if (names[slot] == null) {
+      if (base == null || base.find(name) == null) {
+        newNames++;
+      }
+      names[slot] = name;
+      latest[slot] = index;
+      shadowed[index] = NONE;
+      if (++nameCount * 2 > names.length) {
+        growNames();
+      }
     } else {
-      currentValue = new ArrayList<>();
+      shadowed[index] = latest[slot];
+      latest[slot] = index;
     }
-    currentValue.add(item);
-    items.put(name, currentValue);
-    reverseLookup.putIfAbsent(item.getAddress(), item.getName());
+
+    var address = item.getAddress();
+    if (address != null) {
+      var addressSlot = addressSlot(addresses, addressEntries, address);
+      if (addressEntries[addressSlot] == 0) {
+        addresses[addressSlot] = address;
+        addressEntries[addressSlot] = index + 1;
+        if (++addressCount * 2 > addresses.length) {
+          growAddresses();
+        }
+      }
+    }
+  }
+
+  /** The latest item defined as {@code name}, or null. */
+  public DictionaryItem find(String name) {
+    var slot = nameSlot(names, name);
+    if (names[slot] != null) {
+      return entries[latest[slot]];
+    }
+    return base == null ? null : base.find(name);
+  }
+
+  /**
+   * The first item defined at {@code address}, or null; the item is this dictionary's own, so it
+   * can be changed without affecting any other dictionary.
+   */
+  public DictionaryItem find(int address) {
+    var entry = addressEntries[addressSlot(addresses, addressEntries, address)];
+    if (entry != 0) {
+      var index = entry - 1;
+      if (!owned.get(index)) {
+        if (shared) {
+          unshare();
+        }
+        entries[index] = new DictionaryItem(entries[index]);
+        owned.set(index);
+      }
+      return entries[index];
+    }
+    var item = base == null ? null : base.peek(address);
+    if (item == null) {
+      return null;
+    }
+    var copy = new DictionaryItem(item);
+    var name = item.getName();
+    var isLatest = names[nameSlot(names, name)] == null && base.find(name) == item;
+    add(name, copy, isLatest);
+    return copy;
+  }
+
+  /**
+   * Like {@link #find(int)}, but without copying anything into this dictionary; for looking only,
+   * eg in diagnostics, never for changing the item.
+   */
+  DictionaryItem peek(int address) {
+    var entry = addressEntries[addressSlot(addresses, addressEntries, address)];
+    if (entry != 0) {
+      return entries[entry - 1];
+    }
+    return base == null ? null : base.peek(address);
   }
 
   public Optional<DictionaryItem> get(String name) {
-    return Optional.ofNullable(items.get(name))
-        .map(dictionaryItems -> dictionaryItems.get(dictionaryItems.size() - 1));
+    return Optional.ofNullable(find(name));
   }
 
   public Optional<DictionaryItem> get(Integer address) {
-    return Optional.ofNullable(reverseLookup.get(address)).flatMap(this::get);
+    return address == null ? Optional.empty() : Optional.ofNullable(find(address.intValue()));
+  }
+
+  Set<String> names() {
+    var result = base == null ? new LinkedHashSet<String>() : base.names();
+    for (var i = 0; i < size; i++) {
+      result.add(entryNames[i]);
+    }
+    return result;
+  }
+
+  /** Visits every item, shadowed ones included, in the order they were defined. */
+  void forEach(BiConsumer<String, DictionaryItem> action) {
+    if (base != null) {
+      base.forEach(action);
+    }
+    for (var i = 0; i < size; i++) {
+      action.accept(entryNames[i], entries[i]);
+    }
+  }
+
+  /**
+   * How many words there are, ie names with an item FIND can see or could if it weren't hidden.
+   *
+   * <p>Kept up to date as words are defined, so it can be read while another thread defines words,
+   * eg for monitoring; the count may then be out of date.
+   */
+  int countWords() {
+    return newNames + (base == null ? 0 : base.countWords());
+  }
+
+  /**
+   * How many of the words are hidden and how many are immediate.
+   *
+   * <p>Walks the items, so if another thread defines words meanwhile the counts may be out of date,
+   * or the walk may fail with a RuntimeException.
+   */
+  FlagCounts countFlags() {
+    var counts = new int[2];
+    countFlags(new HashSet<>(), counts);
+    return new FlagCounts(counts[0], counts[1]);
+  }
+
+  record FlagCounts(int hidden, int immediate) {}
+
+  private void countFlags(Set<String> seen, int[] counts) {
+    var entries = this.entries;
+    var entryNames = this.entryNames;
+    var shadowed = this.shadowed;
+    var size = Math.min(this.size, Math.min(entries.length, shadowed.length));
+    for (var i = size - 1; i >= 0; i--) {
+      var item = entries[i];
+      var name = entryNames[i];
+      if (item == null || name == null || shadowed[i] == ADDRESS_ONLY || !seen.add(name)) {
+        continue;
+      }
+      if (Boolean.TRUE.equals(item.getIsHidden())) {
+        counts[0]++;
+      }
+      if (Boolean.TRUE.equals(item.getIsImmediate())) {
+        counts[1]++;
+      }
+    }
+    if (base != null) {
+      base.countFlags(seen, counts);
+    }
+  }
+
+  private void unshare() {
+    entries = entries.clone();
+    entryNames = entryNames.clone();
+    shadowed = shadowed.clone();
+    names = names.clone();
+    latest = latest.clone();
+    addresses = addresses.clone();
+    addressEntries = addressEntries.clone();
+    shared = false;
+  }
+
+  private static int nameSlot(String[] table, String name) {
+    var mask = table.length - 1;
+    var h = name.hashCode();
+    var slot = (h ^ (h >>> 16)) & mask;
+    while (table[slot] != null && !table[slot].equals(name)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private static int addressSlot(int[] table, int[] tableEntries, int address) {
+    var mask = table.length - 1;
+    var h = address * 0x9E3779B9;
+    var slot = (h ^ (h >>> 16)) & mask;
+    while (tableEntries[slot] != 0 && table[slot] != address) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void growNames() {
+    var newNames = new String[names.length * 2];
+    var newLatest = new int[names.length * 2];
+    for (var i = 0; i < names.length; i++) {
+      if (names[i] != null) {
+        var slot = nameSlot(newNames, names[i]);
+        newNames[slot] = names[i];
+        newLatest[slot] = latest[i];
+      }
+    }
+    names = newNames;
+    latest = newLatest;
+  }
+
+  private void growAddresses() {
+    var newAddresses = new int[addresses.length * 2];
+    var newEntries = new int[addresses.length * 2];
+    for (var i = 0; i < addresses.length; i++) {
+      if (addressEntries[i] != 0) {
+        var slot = addressSlot(newAddresses, newEntries, addresses[i]);
+        newAddresses[slot] = addresses[i];
+        newEntries[slot] = addressEntries[i];
+      }
+    }
+    addresses = newAddresses;
+    addressEntries = newEntries;
   }
 }
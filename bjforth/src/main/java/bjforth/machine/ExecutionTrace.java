@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.io.IOException;
+
+/**
+ * The last cells a machine executed, kept for when something goes wrong.
+ *
+ * <p>A fixed number of steps are recorded in a ring of parallel arrays - the IP, the subroutine in
+ * the cell and the depth of the parameter stack before executing it - so recording doesn't
+ * allocate. When an exception escapes {@link Machine#step()}, the trace is attached to it,
+ * symbolically, as a suppressed {@link Dump}.
+ *
+ * <pre>
+ *   machine.setExecutionTrace(new ExecutionTrace());
+ * </pre>
+ */
+public class ExecutionTrace {
+
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  /** An execution trace attached to an exception; it has no stack trace of its own. */
+  public static final class Dump extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    Dump(String trace) {
+      super(trace, null, false, false);
+    }
+  }
+
+  private final int mask;
+  private final int[] instructionPointers;
+  private final NativeSubroutine[] subroutines;
+  private final int[] parameterStackDepths;
+  private long count = 0;
+
+  public ExecutionTrace() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /** A trace of the last {@code capacity} steps, rounded up to a power of 2. */
+  public ExecutionTrace(int capacity) {
+    if (capacity < 1 || capacity > 1 << 24) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    var size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    mask = size - 1;
+    instructionPointers = new int[size];
+    subroutines = new NativeSubroutine[size];
+    parameterStackDepths = new int[size];
+  }
+
+  void record(int IP, NativeSubroutine subroutine, int parameterStackDepth) {
+    var i = (int) count++ & mask;
+    instructionPointers[i] = IP;
+    subroutines[i] = subroutine;
+    parameterStackDepths[i] = parameterStackDepth;
+  }
+
+  public int getCapacity() {
+    return mask + 1;
+  }
+
+  /** How many steps are in the trace. */
+  public int size() {
+    return (int) Math.min(count, mask + 1);
+  }
+
+  public void clear() {
+    count = 0;
+  }
+
+  /**
+   * Writes the trace, oldest step first, one line per step: the IP, the word and the offset from
+   * its code field, the subroutine executed and the depth of the parameter stack.
+   *
+   * <pre>
+   *   104 COUNTDOWN+4 ADD depth=2
+   * </pre>
+   */
+  public void dump(Machine machine, Appendable out) throws IOException {
+    for (var n = count - size(); n < count; n++) {
+      var i = (int) n & mask;
+      var IP = instructionPointers[i];
+      out.append(Integer.toString(IP)).append(' ');
+      var word = machine.enclosingWord(IP);
+      if (word == null) {
+        out.append('-');
+      } else {
+        out.append(word.getName()).append('+');
+        out.append(Integer.toString(IP - word.getAddress() - 1));
+      }
+      out.append(' ').append(subroutines[i].getClass().getSimpleName());
+      out.append(" depth=").append(Integer.toString(parameterStackDepths[i])).append('\n');
+    }
+  }
+
+  public String dump(Machine machine) {
+    var out = new StringBuilder();
+    try {
+      dump(machine, out);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return out.toString();
+  }
+
+  /** Attaches the trace to {@code exception}, unless it's already there. */
+  void attachTo(Machine machine, RuntimeException exception) {
+    for (var suppressed : exception.getSuppressed()) {
+      if (suppressed instanceof Dump) {
+        return;
+      }
+    }
+    exception.addSuppressed(new Dump("Last " + size() + " steps:\n" + dump(machine)));
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+/**
+ * A small direct-mapped cache of what FIND resolves a token to, kept in front of the dictionary.
+ *
+ * <p>An entry is dropped when its name is (re)defined or when the flags of the item it was taken
+ * from change; see {@link Machine#createDictionaryItem(String, DictionaryItem)} and {@link
+ * Machine#dictionaryItemChanged(DictionaryItem)}.
+ */
+public class FindCache {
+
+  /**
+   * What a name resolved to when it was cached.
+   *
+   * @param address the address of the item, or null if there was no item by that name.
+   */
+  public record Entry(String name, Integer address, boolean isHidden, boolean isImmediate) {
+
+    public boolean isFound() {
+      return address != null;
+    }
+  }
+
+  static final int SIZE = 256;
+
+  private final Entry[] entries = new Entry[SIZE];
+  private long hits = 0;
+  private long misses = 0;
+
+  Entry find(String name, Dictionary dictionary) {
+    var slot = slot(name);
+    var entry = entries[slot];
+    if (entry != null && (entry.name() == name || entry.name().equals(name))) {
+      hits++;
+      return entry;
+    }
+    misses++;
+    var item = dictionary.find(name);
+    entry =
+        item == null
+            ? new Entry(name, null, false, false)
+            : new Entry(name, item.getAddress(), item.getIsHidden(), item.getIsImmediate());
+    entries[slot] = entry;
+    return entry;
+  }
+
+  void invalidate(String name) {
+    var slot = slot(name);
+    var entry = entries[slot];
+    if (entry != null && entry.name().equals(name)) {
+      entries[slot] = null;
+    }
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  /** The share of lookups answered from the cache, or 0 if there were none. */
+  public double getHitRate() {
+    var lookups = hits + misses;
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  private static int slot(String name) {
+    var h = name.hashCode();
+    return (h ^ (h >>> 16)) & (SIZE - 1);
+  }
+}
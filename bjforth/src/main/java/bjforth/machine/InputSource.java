@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Where KEY and WORD read their characters from: a {@link Reader} drained into a large {@link
+ * CharBuffer}, so that most reads are an array access rather than a call into the reader.
+ *
+ * <p>A primitive which may have to give up half way, eg WORD waiting for more input, can {@link
+ * #mark()} the buffer and {@link #reset()} to it later; the marked characters are kept across
+ * refills.
+ *
+ * <p>{@link Reader#ready()} can't tell a stream with nothing to read yet from one which has ended.
+ * So when a non-blocking read finds the reader of a stream not ready, a virtual thread does a
+ * blocking read instead and its outcome, characters or the end of input, is picked up by a later
+ * read. Files and strings never block and are always read straight away.
+ *
+ * <p>Streams and files are decoded as UTF-8 unless told otherwise.
+ */
+public class InputSource implements Closeable {
+
+  /** Returned by {@link #read(boolean)} once the underlying reader is exhausted. */
+  public static final int END_OF_INPUT = -1;
+
+  /** Returned by {@link #read(boolean)} when reading would block and blocking isn't allowed. */
+  public static final int NOT_READY = -2;
+
+  static final int BUFFER_SIZE = 1 << 16;
+
+  private final Reader reader;
+  private final boolean neverBlocks;
+  private CharBuffer buffer = CharBuffer.allocate(BUFFER_SIZE).flip();
+  private int mark = -1;
+  private boolean ended = false;
+  /** The blocking read started because the reader wasn't ready; null if there's none. */
+  private CompletableFuture<CharBuffer> pendingRead = null;
+
+  public InputSource(Reader reader) {
+    this(reader, false);
+  }
+
+  private InputSource(Reader reader, boolean neverBlocks) {
+    this.reader = reader;
+    this.neverBlocks = neverBlocks;
+  }
+
+  public static InputSource of(InputStream in) {
+    return of(in, StandardCharsets.UTF_8);
+  }
+
+  public static InputSource of(InputStream in, Charset charset) {
+    return new InputSource(new InputStreamReader(in, charset));
+  }
+
+  public static InputSource of(String text) {
+    return new InputSource(new StringReader(text), true);
+  }
+
+  public static InputSource of(Path path) throws IOException {
+    return new InputSource(Files.newBufferedReader(path), true);
+  }
+
+  public static InputSource of(Socket socket) throws IOException {
+    return of(socket.getInputStream());
+  }
+
+  public static InputSource stdin() {
+    return of(System.in);
+  }
+
+  /**
+   * Reads the next character.
+   *
+   * @param blocking whether to wait for input if none is available yet.
+   * @return the character, {@link #END_OF_INPUT} or, if not {@code blocking}, {@link #NOT_READY}.
+   */
+  public int read(boolean blocking) throws IOException {
+    if (!buffer.hasRemaining()) {
+      var filled = fill(blocking);
+      if (filled < 0) {
+        return filled;
+      }
+    }
+    return buffer.get();
+  }
+
+  /** Remembers the current position so that {@link #reset()} can return to it. */
+  public void mark() {
+    mark = buffer.position();
+  }
+
+  /** Goes back to the last {@link #mark()}, so the characters read since are read again. */
+  public void reset() {
+    if (mark >= 0) {
+      buffer.position(mark);
+      mark = -1;
+    }
+  }
+
+  /** Forgets the last {@link #mark()}, letting a refill reuse the space it held. */
+  public void unmark() {
+    mark = -1;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private int fill(boolean blocking) throws IOException {
+    if (ended) {
+      return END_OF_INPUT;
+    }
+    CharBuffer chunk = null;
+    if (pendingRead != null) {
+      if (!blocking && !pendingRead.isDone()) {
+        return NOT_READY;
+      }
+      chunk = awaitPendingRead();
+      if (chunk == null) {
+        ended = true;
+        return END_OF_INPUT;
+      }
+    } else if (!blocking && !neverBlocks && !reader.ready()) {
+      pendingRead = CompletableFuture.supplyAsync(this::readChunk, Thread::startVirtualThread);
+      return NOT_READY;
+    }
+    var keepFrom = mark >= 0 ? mark : buffer.position();
+    var consumed = buffer.position() - keepFrom;
+    buffer.position(keepFrom).compact();
+    var needed = chunk == null ? 1 : chunk.remaining();
+    if (buffer.remaining() < needed) {
+      var capacity = Math.max(buffer.capacity() * 2, buffer.position() + needed);
+      buffer = CharBuffer.allocate(capacity).put(buffer.flip());
+    }
+    int read;
+    if (chunk == null) {
+      read = reader.read(buffer);
+    } else {
+      read = chunk.remaining();
+      buffer.put(chunk);
+    }
+    buffer.flip().position(consumed);
+    if (mark >= 0) {
+      mark = 0;
+    }
+    if (read < 0) {
+      ended = true;
+      return END_OF_INPUT;
+    }
+    return read;
+  }
+
+  /** What the reader returned, flipped for reading; null at the end of input. */
+  private CharBuffer readChunk() {
+    var chunk = CharBuffer.allocate(BUFFER_SIZE);
+    try {
+      return reader.read(chunk) < 0 ? null : chunk.flip();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private CharBuffer awaitPendingRead() throws IOException {
+    try {
+      return pendingRead.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof UncheckedIOException io) {
+        throw io.getCause();
+      }
+      throw e;
+    } finally {
+      pendingRead = null;
+    }
+  }
+}
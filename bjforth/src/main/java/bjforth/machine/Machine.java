@@ -18,23 +18,113 @@
  */
 package bjforth.machine;
 
+import bjforth.machine.events.MachineHaltEvent;
+import bjforth.machine.events.MachineStartEvent;
+import bjforth.machine.events.WordSampleEvent;
+import bjforth.variables.Variables;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
 import java.util.Optional;
-import java.util.stream.IntStream;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Machine {
 
+  /** How many cells {@link #runUntil(long)} executes between two looks at the clock. */
+  static final int CLOCK_CHECK_INTERVAL = 1024;
+
+  /** How many cells are executed between two {@link WordSampleEvent}s; a power of 2. */
+  static final int SAMPLE_INTERVAL = 1 << 16;
+
+  /** How far back from a cell {@link WordSampleEvent} looks for the word it belongs to. */
+  private static final int MAX_WORD_CELLS = 4096;
+
+  private static final AtomicLong NEXT_ID = new AtomicLong();
+
+  /**
+   * Writes and reads {@link #steps} opaquely: that needs no fences, but keeps another thread, eg
+   * {@link MachineMetrics}', from reading half a write.
+   */
+  private static final VarHandle STEPS;
+
+  static {
+    try {
+      STEPS = MethodHandles.lookup().findVarHandle(Machine.class, "steps", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final long id = NEXT_ID.incrementAndGet();
   private MachineState state;
+  private TieringHook tieringHook = null;
+  private Profiler profiler = null;
+  private ExecutionTrace executionTrace = null;
+  private boolean halted = false;
+  private int exitCode = 0;
+  private boolean inputBlocking = true;
+  private boolean awaitingInput = false;
+  private final MachineContext context;
+  private final FindCache findCache = new FindCache();
+  private boolean started = false;
+  private long steps = 0;
+  /** The step count at which the slice being run ends; compiled code hands back once it's due. */
+  private long sliceEnd = Long.MAX_VALUE;
+  private int lastHere = 0;
+
+  /** A new machine with nothing in memory, to be bootstrapped. */
+  public Machine(MachineContext context) {
+    this(new MachineState(0, 0, new Memory(), new Dictionary(), new Stack(), new Stack()), context);
+  }
 
   public Machine(MachineState state) {
+    this(state, new MachineContext());
+  }
+
+  public Machine(MachineState state, MachineContext context) {
     this.state = state;
+    this.context = context;
+  }
+
+  /**
+   * A new machine in the same state as this one: registers, memory, dictionary and stacks. The two
+   * share all of it until either writes to it, so forking costs about the same however large the
+   * machine is.
+   *
+   * <p>Must not be called while this machine is running on another thread.
+   */
+  public Machine fork(MachineContext context) {
+    return new Machine(new MachineState(state), context);
   }
 
-  public Object getMemoryAt(Integer address) {
+  /** Tells this machine apart from others in the events it emits. */
+  public long getId() {
+    return id;
+  }
+
+  /** How many cells this machine has executed; can be read from any thread. */
+  public long getSteps() {
+    return (long) STEPS.getOpaque(this);
+  }
+
+  MachineState getState() {
+    return state;
+  }
+
+  public MachineContext getContext() {
+    return context;
+  }
+
+  public Object getMemoryAt(int address) {
     return state.getMemory().get(address);
   }
 
-  public void setMemoryAt(Integer address, Object value) {
+  public void setMemoryAt(int address, Object value) {
     state.getMemory().set(address, value);
+    if (tieringHook != null) {
+      tieringHook.written(this, address);
+    }
   }
 
   public void pushToParameterStack(Object item) {
@@ -69,6 +159,11 @@ public class Machine {
     state.getReturnStack().setPointer(pointer);
   }
 
+  /** How many items there are on the return stack. */
+  public int getReturnStackDepth() {
+    return state.getReturnStack().size();
+  }
+
   public Optional<DictionaryItem> getDictionaryItem(String name) {
     return state.getDictionary().get(name);
   }
@@ -77,26 +172,125 @@ public class Machine {
     return state.getDictionary().get(address);
   }
 
+  /** Like {@link #getDictionaryItem(String)}, but returns null if there's no such item. */
+  public DictionaryItem findDictionaryItem(String name) {
+    return state.getDictionary().find(name);
+  }
+
+  /** Like {@link #getDictionaryItem(Integer)}, but returns null if there's no such item. */
+  public DictionaryItem findDictionaryItem(int address) {
+    return state.getDictionary().find(address);
+  }
+
+  /**
+   * Like {@link #findDictionaryItem(int)}, but never changes the dictionary, eg by copying a shared
+   * item into a fork's own; for diagnostics, which mustn't affect the machine they observe.
+   */
+  public DictionaryItem peekDictionaryItem(int address) {
+    return state.getDictionary().peek(address);
+  }
+
+  /** Resolves {@code name} the way FIND does, through the {@link FindCache}. */
+  public FindCache.Entry findWord(String name) {
+    return findCache.find(name, state.getDictionary());
+  }
+
+  public FindCache getFindCache() {
+    return findCache;
+  }
+
+  /** To be called after changing the flags of an item already in the dictionary. */
+  public void dictionaryItemChanged(DictionaryItem item) {
+    findCache.invalidate(item.getName());
+  }
+
   public void createDictionaryItem(String name, DictionaryItem item) {
+    findCache.invalidate(name);
+    if (tieringHook != null) {
+      var shadowed = state.getDictionary().find(name);
+      if (shadowed != null) {
+        tieringHook.invalidated(this, shadowed);
+      }
+    }
     state.getDictionary().put(name, item);
   }
 
-  public Integer getInstrcutionPointer() {
+  public TieringHook getTieringHook() {
+    return tieringHook;
+  }
+
+  public void setTieringHook(TieringHook tieringHook) {
+    this.tieringHook = tieringHook;
+  }
+
+  public Profiler getProfiler() {
+    return profiler;
+  }
+
+  /** Turns profiling on, or off if {@code profiler} is null. */
+  public void setProfiler(Profiler profiler) {
+    this.profiler = profiler;
+  }
+
+  public ExecutionTrace getExecutionTrace() {
+    return executionTrace;
+  }
+
+  /** Turns recording the last steps executed on, or off if {@code executionTrace} is null. */
+  public void setExecutionTrace(ExecutionTrace executionTrace) {
+    this.executionTrace = executionTrace;
+  }
+
+  /** The source KEY and WORD read from; standard input unless set otherwise. */
+  public InputSource getInputSource() {
+    return context.getInputSource();
+  }
+
+  public void setInputSource(InputSource inputSource) {
+    context.setInputSource(inputSource);
+  }
+
+  /** The sink EMIT and TELL write to; standard output unless set otherwise. */
+  public OutputSink getOutputSink() {
+    return context.getOutputSink();
+  }
+
+  public void setOutputSink(OutputSink outputSink) {
+    context.setOutputSink(outputSink);
+  }
+
+  public int getInstrcutionPointer() {
     return state.getInstructionPointer();
   }
 
-  public Integer getNextInstructionPointer() {
+  public int getNextInstructionPointer() {
     return state.getNextInstructionPointer();
   }
 
-  public void setNextInstructionPointer(Integer address) {
+  public void setNextInstructionPointer(int address) {
     state.setNextInstructionPointer(address);
   }
 
-  public void jumpTo(Integer address) {
+  /**
+   * @deprecated the registers are plain ints; use {@link #setNextInstructionPointer(int)}.
+   */
+  @Deprecated
+  public void setNextInstructionPointer(Integer address) {
+    setNextInstructionPointer(address.intValue());
+  }
+
+  public void jumpTo(int address) {
     state.setInstructionPointer(address);
   }
 
+  /**
+   * @deprecated the registers are plain ints; use {@link #jumpTo(int)}.
+   */
+  @Deprecated
+  public void jumpTo(Integer address) {
+    jumpTo(address.intValue());
+  }
+
   /**
    * Executes exactly ONE memory cell and stops.
    *
@@ -104,12 +298,83 @@ public class Machine {
    */
   public void step() {
     var IP = state.getInstructionPointer();
-    var content = getMemoryAt(IP);
-    if (content instanceof NativeSubroutine nativeSubroutine) {
+    var nativeSubroutine = state.getMemory().getCode(IP);
+    if (nativeSubroutine == null) {
+      var e = new MachineException("don't know how to execute *(%d)".formatted(IP));
+      if (executionTrace != null) {
+        executionTrace.attachTo(this, e);
+      }
+      throw e;
+    }
+    if (profiler != null) {
+      profiler.stepped();
+    }
+    var steps = this.steps + 1;
+    STEPS.setOpaque(this, steps);
+    if ((steps & (SAMPLE_INTERVAL - 1)) == 0) {
+      sample(IP);
+    }
+    if (executionTrace == null) {
       nativeSubroutine.call(this);
-    } else {
-      throw new MachineException("don't know how to execute *(%d)".formatted(IP));
+      return;
+    }
+    executionTrace.record(IP, nativeSubroutine, state.getParameterStack().size());
+    try {
+      nativeSubroutine.call(this);
+    } catch (RuntimeException e) {
+      executionTrace.attachTo(this, e);
+      throw e;
+    }
+  }
+
+  /**
+   * Called by compiled code each time one of its loops goes round, with the number of cells the
+   * interpreter would have executed for it; these are counted as steps.
+   *
+   * @return whether the compiled code may go round again; if not - the slice is used up, or a
+   *     profiler or trace is watching every step - it has to hand over to the interpreter
+   */
+  public boolean countBackEdge(int cells) {
+    var before = steps;
+    var after = before + cells;
+    STEPS.setOpaque(this, after);
+    if (((before ^ after) & -SAMPLE_INTERVAL) != 0) {
+      sample(state.getInstructionPointer());
+    }
+    return after < sliceEnd && profiler == null && executionTrace == null;
+  }
+
+  private void sample(int IP) {
+    var here = state.getMemory().get(Variables.HERE().getAddress()) instanceof Integer h ? h : 0;
+    var hereGrowth = here - lastHere;
+    lastHere = here;
+    var event = new WordSampleEvent();
+    if (event.shouldCommit()) {
+      var word = enclosingWord(IP);
+      event.machine = id;
+      event.word = word == null ? null : word.getName();
+      event.steps = SAMPLE_INTERVAL;
+      event.parameterStackDepth = state.getParameterStack().size();
+      event.returnStackDepth = state.getReturnStack().size();
+      event.here = here;
+      event.hereGrowth = hereGrowth;
+      event.commit();
+    }
+  }
+
+  /**
+   * The dictionary item whose code field is closest before {@code address}; looked up without
+   * changing the dictionary, as diagnostics mustn't affect the machine they observe.
+   */
+  DictionaryItem enclosingWord(int address) {
+    var limit = Math.max(0, address - MAX_WORD_CELLS);
+    for (var a = address; a > limit; a--) {
+      var item = state.getDictionary().peek(a - 1);
+      if (item != null) {
+        return item;
+      }
     }
+    return null;
   }
 
   /**
@@ -120,13 +385,155 @@ public class Machine {
    * @param n N memory cells
    */
   public void step(int n) {
-    IntStream.range(0, n).forEach((_i) -> step());
+    for (var i = 0; i < n; i++) {
+      step();
+    }
   }
 
-  /** Machine's "main loop". */
+  /** Machine's "main loop"; returns once the machine has halted. */
   public void loop() {
-    while (true) {
+    markStarted();
+    while (!halted) {
       step();
     }
   }
+
+  /**
+   * Runs the machine until it halts.
+   *
+   * <p>Errors are still reported by throwing {@link MachineException}.
+   *
+   * @return the exit code passed to {@link #halt(int)}, how many cells were executed and for how
+   *     long
+   */
+  public RunResult run() {
+    var startSteps = steps;
+    var start = System.nanoTime();
+    markStarted();
+    while (!halted) {
+      step();
+    }
+    return new RunResult(
+        exitCode, steps - startSteps, Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  /**
+   * Runs the machine for at most {@code maxSteps} cells, counting the loops of compiled code as
+   * the cells the interpreter would have executed for them.
+   *
+   * <p>Within the slice, waiting for input doesn't block the thread: the machine returns {@link
+   * RunStatus#BLOCKED_ON_INPUT} and the cell which was waiting is executed again by the next call.
+   */
+  public RunStatus runFor(long maxSteps) {
+    beginSlice();
+    sliceEnd = maxSteps < Long.MAX_VALUE - steps ? steps + maxSteps : Long.MAX_VALUE;
+    try {
+      while (steps < sliceEnd && !halted && !awaitingInput) {
+        step();
+      }
+    } finally {
+      endSlice();
+    }
+    return status();
+  }
+
+  /**
+   * Runs the machine until {@link System#nanoTime()} reaches {@code deadlineNanos}.
+   *
+   * <p>The clock is only looked at every {@value #CLOCK_CHECK_INTERVAL} cells, so the deadline can
+   * be overrun by that many cells. Input is handled as in {@link #runFor(long)}.
+   */
+  public RunStatus runUntil(long deadlineNanos) {
+    beginSlice();
+    try {
+      while (!halted && !awaitingInput && System.nanoTime() - deadlineNanos < 0) {
+        sliceEnd = steps + CLOCK_CHECK_INTERVAL;
+        while (steps < sliceEnd && !halted && !awaitingInput) {
+          step();
+        }
+      }
+    } finally {
+      endSlice();
+    }
+    return status();
+  }
+
+  private void markStarted() {
+    if (!started) {
+      started = true;
+      var event = new MachineStartEvent();
+      event.machine = id;
+      event.commit();
+    }
+  }
+
+  private void beginSlice() {
+    markStarted();
+    inputBlocking = false;
+    awaitingInput = false;
+  }
+
+  private void endSlice() {
+    inputBlocking = true;
+    sliceEnd = Long.MAX_VALUE;
+  }
+
+  private RunStatus status() {
+    if (halted) {
+      return RunStatus.HALTED;
+    }
+    return awaitingInput ? RunStatus.BLOCKED_ON_INPUT : RunStatus.OUT_OF_BUDGET;
+  }
+
+  /**
+   * Whether a primitive which needs input may block the thread waiting for it.
+   *
+   * <p>If not, it should call {@link #awaitInput()} and return.
+   */
+  public boolean isInputBlocking() {
+    return inputBlocking;
+  }
+
+  /**
+   * Called by the primitive being executed when it can't go on until more input arrives.
+   *
+   * <p>NIP is set back to IP, so the primitive is executed again when the machine is resumed.
+   */
+  public void awaitInput() {
+    awaitingInput = true;
+    state.setNextInstructionPointer(state.getInstructionPointer());
+  }
+
+  public boolean isAwaitingInput() {
+    return awaitingInput;
+  }
+
+  /**
+   * Stops the machine once the cell being executed is done.
+   *
+   * <p>A halted machine stays halted: {@link #run()} returns straight away.
+   */
+  public void halt(int exitCode) {
+    this.exitCode = exitCode;
+    this.halted = true;
+    var event = new MachineHaltEvent();
+    event.machine = id;
+    event.exitCode = exitCode;
+    event.commit();
+    if (context.hasOutputSink()) {
+      try {
+        context.getOutputSink().flushOn(OutputSink.FlushPolicy.HALT);
+      } catch (IOException e) {
+        throw new MachineException(e);
+      }
+    }
+  }
+
+  public boolean isHalted() {
+    return halted;
+  }
+
+  public int getExitCode() {
+    return exitCode;
+  }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+/**
+ * What a {@link Machine} doesn't share with any other machine in the JVM: its input and output.
+ *
+ * <p>A context belongs to one machine and isn't thread-safe.
+ */
+public class MachineContext {
+
+  private InputSource inputSource;
+  private OutputSink outputSink;
+
+  /** A context reading from standard input and writing to standard output. */
+  public MachineContext() {
+    this(null, null);
+  }
+
+  public MachineContext(InputSource inputSource, OutputSink outputSink) {
+    this.inputSource = inputSource;
+    this.outputSink = outputSink;
+  }
+
+  public InputSource getInputSource() {
+    if (inputSource == null) {
+      inputSource = InputSource.stdin();
+    }
+    return inputSource;
+  }
+
+  public void setInputSource(InputSource inputSource) {
+    this.inputSource = inputSource;
+  }
+
+  public OutputSink getOutputSink() {
+    if (outputSink == null) {
+      outputSink = OutputSink.stdout();
+    }
+    return outputSink;
+  }
+
+  public void setOutputSink(OutputSink outputSink) {
+    this.outputSink = outputSink;
+  }
+
+  /** Whether an output sink is in use, ie whether there may be anything to flush. */
+  boolean hasOutputSink() {
+    return outputSink != null;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+/**
+ * A frozen snapshot of a machine's registers, memory and dictionary, eg right after bootstrapping,
+ * from which any number of machines can be started.
+ *
+ * <p>The snapshot itself is never written to, so it is shared read-only by all the machines made
+ * from it, whichever thread they run on: each one clones a memory page only when it first writes to
+ * it and keeps its own definitions in an overlay on the snapshot's dictionary. Starting a machine
+ * therefore costs about the same however large the image is.
+ */
+public class MachineImage {
+
+  private final int instructionPointer;
+  private final int nextInstructionPointer;
+  private final Memory memory;
+  private final Dictionary dictionary;
+
+  /** Snapshots {@code machine}; the machine can carry on without affecting the image. */
+  public MachineImage(Machine machine) {
+    var state = machine.getState();
+    instructionPointer = state.getInstructionPointer();
+    nextInstructionPointer = state.getNextInstructionPointer();
+    memory = new Memory(state.getMemory());
+    dictionary = new Dictionary();
+    state.getDictionary().forEach((name, item) -> dictionary.put(name, new DictionaryItem(item)));
+  }
+
+  /** A new machine, with empty stacks, starting from the image. */
+  public Machine newMachine(MachineContext context) {
+    var state =
+        new MachineState(
+            instructionPointer,
+            nextInstructionPointer,
+            new Memory(memory),
+            Dictionary.overlay(dictionary),
+            new Stack(),
+            new Stack());
+    return new Machine(state, context);
+  }
+}
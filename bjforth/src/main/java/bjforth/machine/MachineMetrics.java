@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import bjforth.variables.Variables;
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Exposes the metrics of a running machine as an MBean named {@code
+ * bjforth:type=Machine,id=<machine id>}.
+ *
+ * <p>Every attribute is read from the machine's own fields as it runs, without synchronising with
+ * it: the machine pays nothing for being monitored, and the values read may be slightly out of
+ * date. Counting the hidden and immediate words walks the dictionary, which can fail if the machine
+ * defines a word meanwhile; the attribute is then -1 until it's read again.
+ *
+ * <pre>
+ *   try (var metrics = MachineMetrics.register(machine)) {
+ *     machine.run();
+ *   }
+ * </pre>
+ */
+public class MachineMetrics implements MachineMetricsMBean, AutoCloseable {
+
+  private final Machine machine;
+  private final ObjectName name;
+  private long lastSteps = 0;
+  private long lastNanos = System.nanoTime();
+
+  MachineMetrics(Machine machine) {
+    this.machine = machine;
+    try {
+      this.name = new ObjectName("bjforth:type=Machine,id=" + machine.getId());
+    } catch (JMException e) {
+      throw new MachineException(e);
+    }
+  }
+
+  /** Registers the metrics of {@code machine} with the platform MBean server. */
+  public static MachineMetrics register(Machine machine) {
+    var metrics = new MachineMetrics(machine);
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, metrics.name);
+    } catch (JMException e) {
+      throw new MachineException(e);
+    }
+    return metrics;
+  }
+
+  public ObjectName getObjectName() {
+    return name;
+  }
+
+  /** Unregisters the MBean. */
+  @Override
+  public void close() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+    } catch (JMException e) {
+      throw new MachineException(e);
+    }
+  }
+
+  @Override
+  public long getSteps() {
+    return machine.getSteps();
+  }
+
+  @Override
+  public synchronized double getStepsPerSecond() {
+    var steps = machine.getSteps();
+    var now = System.nanoTime();
+    var elapsed = now - lastNanos;
+    var result = elapsed > 0 ? (steps - lastSteps) * 1e9 / elapsed : 0.0;
+    lastSteps = steps;
+    lastNanos = now;
+    return result;
+  }
+
+  @Override
+  public int getParameterStackDepth() {
+    return machine.getState().getParameterStack().size();
+  }
+
+  @Override
+  public int getParameterStackHighWaterMark() {
+    return machine.getState().getParameterStack().getHighWaterMark();
+  }
+
+  @Override
+  public int getReturnStackDepth() {
+    return machine.getState().getReturnStack().size();
+  }
+
+  @Override
+  public int getReturnStackHighWaterMark() {
+    return machine.getState().getReturnStack().getHighWaterMark();
+  }
+
+  @Override
+  public int getHere() {
+    return machine.getMemoryAt(Variables.HERE().getAddress()) instanceof Integer here ? here : 0;
+  }
+
+  @Override
+  public int getDictionarySize() {
+    return machine.getState().getDictionary().countWords();
+  }
+
+  @Override
+  public int getHiddenWords() {
+    var counts = countFlags();
+    return counts == null ? -1 : counts.hidden();
+  }
+
+  @Override
+  public int getImmediateWords() {
+    var counts = countFlags();
+    return counts == null ? -1 : counts.immediate();
+  }
+
+  /** The dictionary's flag counts, or null if it changed under the walk. */
+  private Dictionary.FlagCounts countFlags() {
+    try {
+      return machine.getState().getDictionary().countFlags();
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public int getInstructionPointer() {
+    return machine.getInstrcutionPointer();
+  }
+
+  @Override
+  public boolean isHalted() {
+    return machine.isHalted();
+  }
+}
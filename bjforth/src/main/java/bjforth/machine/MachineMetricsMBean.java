@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+/** The attributes {@link MachineMetrics} exposes over JMX. */
+public interface MachineMetricsMBean {
+
+  long getSteps();
+
+  /** Steps per second since the previous time this attribute was read. */
+  double getStepsPerSecond();
+
+  int getParameterStackDepth();
+
+  int getParameterStackHighWaterMark();
+
+  int getReturnStackDepth();
+
+  int getReturnStackHighWaterMark();
+
+  /** The value of HERE, ie how far the memory has been allocated. */
+  int getHere();
+
+  int getDictionarySize();
+
+  /** How many words are hidden, or -1 if the dictionary changed while counting them. */
+  int getHiddenWords();
+
+  /** How many words are immediate, or -1 if the dictionary changed while counting them. */
+  int getImmediateWords();
+
+  int getInstructionPointer();
+
+  boolean isHalted();
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs machines started from one {@link MachineImage}, each on a virtual thread of its own.
+ *
+ * <p>While a machine runs, its {@link MachineMetrics} are registered with the platform MBean
+ * server.
+ *
+ * <p>Closing the runtime waits for every machine launched to finish.
+ */
+public class MachineRuntime implements AutoCloseable {
+
+  private final MachineImage image;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public MachineRuntime(MachineImage image) {
+    this.image = image;
+  }
+
+  public MachineImage getImage() {
+    return image;
+  }
+
+  /** Starts a new machine from the image, reading and writing through {@code context}. */
+  public Future<RunResult> launch(MachineContext context) {
+    return launch(image.newMachine(context));
+  }
+
+  /** Runs {@code machine}, eg one from {@link MachineImage#newMachine} set up further. */
+  public Future<RunResult> launch(Machine machine) {
+    return executor.submit(
+        () -> {
+          var metrics = MachineMetrics.register(machine);
+          try {
+            return machine.run();
+          } finally {
+            metrics.close();
+          }
+        });
+  }
+
+  @Override
+  public void close() {
+    executor.close();
+  }
+}
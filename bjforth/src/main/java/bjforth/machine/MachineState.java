@@ -19,16 +19,16 @@
 package bjforth.machine;
 
 class MachineState {
-  private Integer instructionPointer;
-  private Integer nextInstructionPointer;
+  private int instructionPointer;
+  private int nextInstructionPointer;
   private Memory memory;
   private Dictionary dictionary;
   private Stack returnStack;
   private Stack parameterStack;
 
   MachineState(
-      Integer instructionPointer,
-      Integer nextInstructionPointer,
+      int instructionPointer,
+      int nextInstructionPointer,
       Memory memory,
       Dictionary dictionary,
       Stack returnStack,
@@ -50,19 +50,19 @@ class MachineState {
     parameterStack = new Stack(other.parameterStack);
   }
 
-  void setInstructionPointer(Integer instructionPointer) {
+  void setInstructionPointer(int instructionPointer) {
     this.instructionPointer = instructionPointer;
   }
 
-  void setNextInstructionPointer(Integer nextInstructionPointer) {
+  void setNextInstructionPointer(int nextInstructionPointer) {
     this.nextInstructionPointer = nextInstructionPointer;
   }
 
-  Integer getInstructionPointer() {
+  int getInstructionPointer() {
     return instructionPointer;
   }
 
-  Integer getNextInstructionPointer() {
+  int getNextInstructionPointer() {
     return nextInstructionPointer;
   }
 
@@ -18,23 +18,169 @@
  */
 package bjforth.machine;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
+/* Cells are kept in fixed-size pages which are allocated on first write.  bjForth's code and data
+   spaces grow contiguously from HERE upwards, so nearly every access lands in a page and costs an
+   array load - no boxing, hashing or entry allocation.
+
+   Each page has a twin in `codePages` which holds the cell's content if it is a NativeSubroutine
+   and null otherwise.  That lets the inner interpreter fetch executable code with a single array
+   load instead of an `instanceof` check per cell; `set` keeps the two in step.
+
+   Addresses outside the paged range (negative or beyond MAX_PAGES pages) fall back to a sparse
+   map, as does the whole memory when created with Layout.SPARSE.
+
+   Copying a memory doesn't copy its pages: both memories point to the same ones, flagged in
+   `shared`, and whichever writes to a shared page first clones it.  A copy of a memory nobody
+   writes to any more, eg a MachineImage's, only costs the pages it changes.
+*/
 class Memory {
+
+  enum Layout {
+    PAGED,
+    SPARSE
+  }
+
+  static final int PAGE_SHIFT = 10;
+  static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+  static final int PAGE_MASK = PAGE_SIZE - 1;
+  static final int MAX_PAGES = 1 << 12;
+
+  private static final int INITIAL_PAGES = 16;
+
+  // Marks a cell which was explicitly set to null so that it can be told apart from a cell which
+  // was never written to.
+  private static final Object NULL = new Object();
+
+  private final Layout layout;
+  private Object[][] pages;
+  private NativeSubroutine[][] codePages;
+  private boolean[] shared;
   private final Map<Integer, Object> cells = new HashMap<>();
 
-  Memory() {}
+  Memory() {
+    this(Layout.PAGED);
+  }
+
+  Memory(Layout layout) {
+    this.layout = layout;
+    this.pages = layout == Layout.PAGED ? new Object[INITIAL_PAGES][] : null;
+    this.codePages = layout == Layout.PAGED ? new NativeSubroutine[INITIAL_PAGES][] : null;
+    this.shared = layout == Layout.PAGED ? new boolean[INITIAL_PAGES] : null;
+  }
 
+  /**
+   * A copy of {@code other} which shares its pages. This marks {@code other}'s pages shared too, so
+   * that it clones them before it next writes to them: copying changes the source, so it mustn't
+   * run while another thread writes to it.
+   */
   Memory(Memory other) {
-    other.cells.forEach(cells::put);
+    layout = other.layout;
+    if (other.pages != null) {
+      pages = other.pages.clone();
+      codePages = other.codePages.clone();
+      shared = new boolean[pages.length];
+      Arrays.fill(shared, true);
+      // Only written the first time, so that a memory which is no longer written to can be copied
+      // from several threads.
+      for (int i = 0; i < other.shared.length; i++) {
+        if (!other.shared[i]) {
+          other.shared[i] = true;
+        }
+      }
+    }
+    cells.putAll(other.cells);
+  }
+
+  void set(int address, Object value) {
+    var pageIndex = address >>> PAGE_SHIFT;
+    if (pages != null && pageIndex < MAX_PAGES) {
+      var offset = address & PAGE_MASK;
+      page(pageIndex)[offset] = value == null ? NULL : value;
+      codePages[pageIndex][offset] = value instanceof NativeSubroutine code ? code : null;
+    } else {
+      cells.put(address, value);
+    }
+  }
+
+  Object get(int address) {
+    var pageIndex = address >>> PAGE_SHIFT;
+    if (pages != null && pageIndex < MAX_PAGES) {
+      if (pageIndex >= pages.length) {
+        return null;
+      }
+      var page = pages[pageIndex];
+      if (page == null) {
+        return null;
+      }
+      var value = page[address & PAGE_MASK];
+      return value == NULL ? null : value;
+    } else {
+      return cells.get(address);
+    }
+  }
+
+  /** The content of the cell at {@code address} if it is executable, null otherwise. */
+  NativeSubroutine getCode(int address) {
+    var pageIndex = address >>> PAGE_SHIFT;
+    if (pages != null && pageIndex < MAX_PAGES) {
+      if (pageIndex >= codePages.length) {
+        return null;
+      }
+      var codePage = codePages[pageIndex];
+      return codePage == null ? null : codePage[address & PAGE_MASK];
+    } else {
+      return cells.get(address) instanceof NativeSubroutine code ? code : null;
+    }
+  }
+
+  /** All the addresses which have been written to. */
+  Set<Integer> addresses() {
+    var result = new HashSet<>(cells.keySet());
+    if (pages != null) {
+      for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+        var page = pages[pageIndex];
+        if (page == null) continue;
+        for (int offset = 0; offset < PAGE_SIZE; offset++) {
+          if (page[offset] != null) {
+            result.add((pageIndex << PAGE_SHIFT) | offset);
+          }
+        }
+      }
+    }
+    return result;
   }
 
-  void set(Integer address, Object value) {
-    cells.put(address, value);
+  Layout getLayout() {
+    return layout;
   }
 
-  Object get(Integer address) {
-    return cells.get(address);
+  private Object[] page(int pageIndex) {
+    if (pageIndex >= pages.length) {
+      var newLength = pages.length;
+      while (newLength <= pageIndex) newLength <<= 1;
+      newLength = Math.min(newLength, MAX_PAGES);
+      pages = Arrays.copyOf(pages, newLength);
+      codePages = Arrays.copyOf(codePages, newLength);
+      shared = Arrays.copyOf(shared, newLength);
+    }
+    var page = pages[pageIndex];
+    if (page == null) {
+      page = new Object[PAGE_SIZE];
+      pages[pageIndex] = page;
+      codePages[pageIndex] = new NativeSubroutine[PAGE_SIZE];
+      shared[pageIndex] = false;
+    } else if (shared[pageIndex]) {
+      page = page.clone();
+      pages[pageIndex] = page;
+      codePages[pageIndex] = codePages[pageIndex].clone();
+      shared[pageIndex] = false;
+    }
+    return page;
   }
 }
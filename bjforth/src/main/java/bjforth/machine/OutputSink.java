@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import bjforth.machine.events.OutputFlushEvent;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Where EMIT and TELL write to: characters are collected in a buffer and only handed to the
+ * underlying stream when the buffer is full or on one of the {@link FlushPolicy} events.
+ */
+public class OutputSink implements Flushable {
+
+  /** Events, besides a full buffer, on which the buffered characters are written out. */
+  public enum FlushPolicy {
+    /** After writing a newline. */
+    NEWLINE,
+    /** Before KEY or WORD read input, so that prompts are visible. */
+    KEY,
+    /** When the machine halts. */
+    HALT;
+  }
+
+  static final int BUFFER_SIZE = 8192;
+
+  private final OutputStream stream;
+  private final Writer writer;
+  private final char[] buffer;
+  private final Set<FlushPolicy> policies;
+  private int count = 0;
+
+  public OutputSink(OutputStream stream) {
+    this(stream, BUFFER_SIZE, EnumSet.allOf(FlushPolicy.class));
+  }
+
+  public OutputSink(OutputStream stream, int bufferSize, Set<FlushPolicy> policies) {
+    this.stream = stream;
+    this.writer = new OutputStreamWriter(stream);
+    this.buffer = new char[bufferSize];
+    this.policies =
+        policies.isEmpty() ? EnumSet.noneOf(FlushPolicy.class) : EnumSet.copyOf(policies);
+  }
+
+  public static OutputSink stdout() {
+    return new OutputSink(System.out);
+  }
+
+  /** The stream the buffered characters end up in. */
+  public OutputStream getStream() {
+    return stream;
+  }
+
+  public void write(int codePoint) throws IOException {
+    if (Character.isBmpCodePoint(codePoint)) {
+      append((char) codePoint);
+    } else {
+      append(Character.highSurrogate(codePoint));
+      append(Character.lowSurrogate(codePoint));
+    }
+    if (codePoint == '\n') {
+      flushOn(FlushPolicy.NEWLINE);
+    }
+  }
+
+  public void write(String string) throws IOException {
+    var length = string.length();
+    for (var offset = 0; offset < length; ) {
+      if (count == buffer.length) {
+        flush("FULL");
+      }
+      var n = Math.min(length - offset, buffer.length - count);
+      string.getChars(offset, offset + n, buffer, count);
+      count += n;
+      offset += n;
+    }
+    if (string.indexOf('\n') >= 0) {
+      flushOn(FlushPolicy.NEWLINE);
+    }
+  }
+
+  /** Flushes the buffered characters if {@code event} is one of the policies in effect. */
+  public void flushOn(FlushPolicy event) throws IOException {
+    if (count > 0 && policies.contains(event)) {
+      flush(event.name());
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    flush("EXPLICIT");
+  }
+
+  private void flush(String trigger) throws IOException {
+    var event = new OutputFlushEvent();
+    event.begin();
+    var characters = count;
+    writer.write(buffer, 0, count);
+    writer.flush();
+    count = 0;
+    event.end();
+    if (event.shouldCommit()) {
+      event.characters = characters;
+      event.trigger = trigger;
+      event.commit();
+    }
+  }
+
+  private void append(char ch) throws IOException {
+    if (count == buffer.length) {
+      flush("FULL");
+    }
+    buffer[count++] = ch;
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Attributes executed cells and wall time to the colon definitions they were executed in.
+ *
+ * <p>DOCOL opens a frame for the word being entered and EXIT closes it. A frame remembers how deep
+ * the return stack was when it was opened, so a word left in some other way, eg by dropping its
+ * return address, is closed as soon as the return stack is found to be shallower than that.
+ *
+ * <p>A word's exclusive counts are what was executed in its own body; its inclusive counts also
+ * include the words it called. Recursive calls are only counted once towards inclusive counts.
+ * Time is wall clock time between DOCOLs and EXITs, so it includes waiting for input.
+ *
+ * <p>Words compiled by tiered execution don't go through DOCOL and are attributed to their callers:
+ * turn tiering off while profiling.
+ *
+ * <p>Like the machine it's installed in, a profiler isn't thread safe: read it between runs.
+ *
+ * <pre>
+ *   machine.setProfiler(new Profiler());
+ * </pre>
+ */
+public class Profiler {
+
+  /** What the collapsed stacks are weighted by. */
+  public enum Weight {
+    STEPS,
+    NANOS
+  }
+
+  /**
+   * What was executed in a word.
+   *
+   * @param name the name of the word, or {@code @<address>} if it's not in the dictionary
+   * @param codeAddress the address of its code field
+   * @param calls how many times it was entered
+   */
+  public record WordProfile(
+      String name,
+      int codeAddress,
+      long calls,
+      long inclusiveSteps,
+      long exclusiveSteps,
+      Duration inclusiveTime,
+      Duration exclusiveTime) {}
+
+  /** The name of the cells executed outside of any word in collapsed stacks. */
+  static final String TOP_LEVEL = "[top]";
+
+  private static final class Stats {
+    final String name;
+    final int codeAddress;
+    long calls = 0;
+    long inclusiveSteps = 0;
+    long exclusiveSteps = 0;
+    long inclusiveNanos = 0;
+    long exclusiveNanos = 0;
+    int active = 0;
+
+    Stats(String name, int codeAddress) {
+      this.name = name;
+      this.codeAddress = codeAddress;
+    }
+  }
+
+  /** A node of the call tree, ie one distinct stack of words. */
+  private static final class Node {
+    final Stats stats;
+    final Map<Integer, Node> children = new HashMap<>();
+    long steps = 0;
+    long nanos = 0;
+
+    Node(Stats stats) {
+      this.stats = stats;
+    }
+  }
+
+  private static final class Frame {
+    Node node;
+    int returnStackSize;
+    long startSteps;
+    long startNanos;
+  }
+
+  private final Map<Integer, Stats> stats = new HashMap<>();
+  private Node root = new Node(new Stats(TOP_LEVEL, -1));
+  private Frame[] frames = new Frame[16];
+  private int depth = 0;
+  private Node current = root;
+  private long steps = 0;
+  private long lastNanos = System.nanoTime();
+
+  /** A cell is about to be executed. */
+  void stepped() {
+    steps++;
+    current.steps++;
+    current.stats.exclusiveSteps++;
+  }
+
+  /** DOCOL has entered the word whose code field is at {@code codeAddress}. */
+  public void entered(Machine machine, int codeAddress) {
+    var returnStackSize = machine.getState().getReturnStack().size();
+    var now = charge();
+    unwind(returnStackSize - 1, now);
+    var word = stats.computeIfAbsent(codeAddress, address -> newStats(machine, address));
+    word.calls++;
+    word.active++;
+    current = current.children.computeIfAbsent(codeAddress, address -> new Node(word));
+    if (depth == frames.length) {
+      frames = Arrays.copyOf(frames, depth << 1);
+    }
+    var frame = frames[depth];
+    if (frame == null) {
+      frame = frames[depth] = new Frame();
+    }
+    frame.node = current;
+    frame.returnStackSize = returnStackSize;
+    frame.startSteps = steps;
+    frame.startNanos = now;
+    depth++;
+  }
+
+  /** EXIT has popped a return address. */
+  public void exited(Machine machine) {
+    unwind(machine.getState().getReturnStack().size(), charge());
+  }
+
+  /** Closes the frames whose return address is no longer on a return stack of {@code size}. */
+  private void unwind(int size, long now) {
+    while (depth > 0 && frames[depth - 1].returnStackSize > size) {
+      var frame = frames[--depth];
+      var word = frame.node.stats;
+      if (--word.active == 0) {
+        word.inclusiveSteps += steps - frame.startSteps;
+        word.inclusiveNanos += now - frame.startNanos;
+      }
+      frame.node = null;
+      current = depth == 0 ? root : frames[depth - 1].node;
+    }
+  }
+
+  /** Charges the time since the last event to the word being executed. */
+  private long charge() {
+    var now = System.nanoTime();
+    var elapsed = now - lastNanos;
+    current.nanos += elapsed;
+    current.stats.exclusiveNanos += elapsed;
+    lastNanos = now;
+    return now;
+  }
+
+  private static Stats newStats(Machine machine, int codeAddress) {
+    var item = machine.getState().getDictionary().peek(codeAddress - 1);
+    return new Stats(item == null ? "@" + codeAddress : item.getName(), codeAddress);
+  }
+
+  /**
+   * The words executed so far, most exclusive steps first. Words still being executed are counted
+   * up to now towards their exclusive counts only.
+   */
+  public List<WordProfile> getProfiles() {
+    charge();
+    var result = new ArrayList<WordProfile>(stats.size());
+    for (var word : stats.values()) {
+      result.add(
+          new WordProfile(
+              word.name,
+              word.codeAddress,
+              word.calls,
+              word.inclusiveSteps,
+              word.exclusiveSteps,
+              Duration.ofNanos(word.inclusiveNanos),
+              Duration.ofNanos(word.exclusiveNanos)));
+    }
+    result.sort(Comparator.comparingLong(WordProfile::exclusiveSteps).reversed());
+    return result;
+  }
+
+  /**
+   * Writes the call tree in the collapsed stack format flame graph tools read: one line per
+   * distinct stack, outermost word first, followed by its exclusive weight. Semicolons in word
+   * names are written as {@code %3B}.
+   *
+   * <pre>
+   *   QUIT;INTERPRET;SQUARE 1234
+   * </pre>
+   */
+  public void writeCollapsedStacks(Appendable out, Weight weight) throws IOException {
+    charge();
+    if (weightOf(root, weight) > 0) {
+      out.append(TOP_LEVEL).append(' ').append(Long.toString(weightOf(root, weight))).append('\n');
+    }
+    var path = new StringBuilder();
+    for (var child : root.children.values()) {
+      writeCollapsedStacks(out, weight, child, path);
+    }
+  }
+
+  private static void writeCollapsedStacks(
+      Appendable out, Weight weight, Node node, StringBuilder path) throws IOException {
+    var length = path.length();
+    if (length > 0) {
+      path.append(';');
+    }
+    path.append(node.stats.name.replace(";", "%3B"));
+    var value = weightOf(node, weight);
+    if (value > 0) {
+      out.append(path).append(' ').append(Long.toString(value)).append('\n');
+    }
+    for (var child : node.children.values()) {
+      writeCollapsedStacks(out, weight, child, path);
+    }
+    path.setLength(length);
+  }
+
+  private static long weightOf(Node node, Weight weight) {
+    return weight == Weight.STEPS ? node.steps : node.nanos;
+  }
+
+  /** Forgets everything recorded so far; words being executed are counted from now on. */
+  public void reset() {
+    stats.clear();
+    root = new Node(new Stats(TOP_LEVEL, -1));
+    // Keep the open frames, re-rooted, so that their EXITs still match.
+    var now = System.nanoTime();
+    var parent = root;
+    for (var i = 0; i < depth; i++) {
+      var old = frames[i].node.stats;
+      var word = stats.computeIfAbsent(old.codeAddress, address -> new Stats(old.name, address));
+      word.active++;
+      var node = parent.children.computeIfAbsent(old.codeAddress, address -> new Node(word));
+      frames[i].node = node;
+      frames[i].startSteps = steps;
+      frames[i].startNanos = now;
+      parent = node;
+    }
+    current = parent;
+    lastNanos = now;
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.time.Duration;
+
+/**
+ * How a {@link Machine#run()} ended.
+ *
+ * @param exitCode what the program passed to HALT, or 0 for BYE
+ * @param steps how many cells were executed
+ * @param elapsed wall clock time spent running
+ */
+public record RunResult(int exitCode, long steps, Duration elapsed) {}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+/** Why {@link Machine#runFor(long)} or {@link Machine#runUntil(long)} returned. */
+public enum RunStatus {
+  /** The program has halted; the machine won't run any more. */
+  HALTED,
+  /** The program is waiting for input which isn't available yet. */
+  BLOCKED_ON_INPUT,
+  /** The step or time budget was used up before the program halted. */
+  OUT_OF_BUDGET
+}
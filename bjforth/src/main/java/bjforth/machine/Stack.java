@@ -18,41 +18,113 @@
  */
 package bjforth.machine;
 
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /* the public interface is quite leaky and doesn't try to encapsulate the impl
    details at all - mostly b/c of the words related to stack pointers, ie RSP!,
    RSP@, DSP! and DSP@.
+
+   The elements live in a growable array and `top` is the index of the top-most
+   one, which makes the stack pointer literally `top`.  Moving the pointer down
+   doesn't clear the abandoned slots; they are overwritten by later pushes.
+
+   A copy shares the array with the original until either of them pushes, which clones it; pops
+   on a shared array only move `top`.
 */
 class Stack {
 
-  private final LinkedList<Object> data = new LinkedList<>();
+  private static final int INITIAL_CAPACITY = 32;
 
-  Stack() {}
+  private Object[] data;
+  private int top = -1;
+  private int highWaterMark = 0;
+  private boolean shared = false;
+
+  Stack() {
+    data = new Object[INITIAL_CAPACITY];
+  }
 
   Stack(Stack other) {
-    other.data.iterator().forEachRemaining(data::addLast);
+    data = other.data;
+    top = other.top;
+    highWaterMark = other.highWaterMark;
+    shared = true;
+    other.shared = true;
   }
 
   public Object pop() {
-    return data.removeLast();
+    if (top < 0) {
+      throw new NoSuchElementException();
+    }
+    var item = data[top];
+    if (!shared) {
+      data[top] = null;
+    }
+    top--;
+    return item;
   }
 
   public void push(Object item) {
-    data.addLast(item);
+    if (++top == data.length) {
+      data = Arrays.copyOf(data, data.length << 1);
+      shared = false;
+    } else if (shared) {
+      data = data.clone();
+      shared = false;
+    }
+    data[top] = item;
+    if (top >= highWaterMark) {
+      highWaterMark = top + 1;
+    }
   }
 
   public int getPointer() {
-    if (data.size() <= 0) {
+    if (top < 0) {
       throw new MachineException("Empty stack");
     }
-    return data.size() - 1;
+    return top;
   }
 
   public void setPointer(int pointer) {
-    if (pointer >= data.size() || pointer < 0) {
+    if (pointer > top || pointer < 0) {
       throw new MachineException("Invalid stack pointer");
     }
-    for (int i = data.size() - 1; i > pointer; i--) data.remove(i);
+    top = pointer;
+  }
+
+  int size() {
+    return top + 1;
+  }
+
+  /** The most elements the stack has held at once. */
+  int getHighWaterMark() {
+    return highWaterMark;
+  }
+
+  /** Iterates from the bottom of the stack to the top. */
+  Iterator<Object> ascendingIterator() {
+    return Arrays.asList(data).subList(0, top + 1).iterator();
+  }
+
+  /** Iterates from the top of the stack to the bottom. */
+  Iterator<Object> descendingIterator() {
+    return new Iterator<>() {
+      private int i = top;
+
+      @Override
+      public boolean hasNext() {
+        return i >= 0;
+      }
+
+      @Override
+      public Object next() {
+        if (i < 0) {
+          throw new NoSuchElementException();
+        }
+        return data[i--];
+      }
+    };
   }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+/**
+ * Receives the execution events a tiered execution policy is driven by.
+ *
+ * <p>Installed with {@link Machine#setTieringHook(TieringHook)}; when there is none, the events
+ * cost a null check.
+ */
+public interface TieringHook {
+
+  /** A colon definition, whose code field is at {@code codeAddress}, was entered. */
+  void entered(Machine machine, int codeAddress);
+
+  /** A branch at {@code branchAddress} jumped backwards, ie a loop went round once more. */
+  void branchedBack(Machine machine, int branchAddress);
+
+  /** A dictionary item was shadowed by a new definition or had its hidden flag toggled. */
+  void invalidated(Machine machine, DictionaryItem item);
+
+  /** The cell at {@code address} was written to. */
+  void written(Machine machine, int address);
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("bjforth.OutputFlush")
+@Label("Output Flush")
+@Category({"BJForth", "I/O"})
+@Description("What EMIT and TELL buffered was written to the output stream")
+@StackTrace(false)
+@Threshold("1 ms")
+public class OutputFlushEvent extends Event {
+
+  @Label("Characters")
+  public int characters;
+
+  @Label("Trigger")
+  @Description("The flush policy which caused the flush, or FULL or EXPLICIT")
+  public String trigger;
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("bjforth.WordPromotion")
+@Label("Word Promotion")
+@Category({"BJForth", "Compiler"})
+@Description("A colon definition was compiled by tiered execution")
+@StackTrace(false)
+public class WordPromotionEvent extends MachineEvent {
+
+  @Label("Word")
+  public String word;
+
+  @Label("Code Address")
+  public int codeAddress;
+
+  @Label("Promoted")
+  @Description("False if the word couldn't be compiled and stays interpreted")
+  public boolean promoted;
+}
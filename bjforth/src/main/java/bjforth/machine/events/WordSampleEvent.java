@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("bjforth.WordSample")
+@Label("Word Sample")
+@Category({"BJForth", "Machine"})
+@Description("The word being executed, taken every so many cells")
+@StackTrace(false)
+public class WordSampleEvent extends MachineEvent {
+
+  @Label("Word")
+  @Description("The colon definition the cell being executed belongs to, if any")
+  public String word;
+
+  @Label("Steps")
+  @Description("Cells executed since the previous sample")
+  public long steps;
+
+  @Label("Parameter Stack Depth")
+  public int parameterStackDepth;
+
+  @Label("Return Stack Depth")
+  public int returnStackDepth;
+
+  @Label("HERE")
+  public int here;
+
+  @Label("HERE Growth")
+  @Description("How many cells HERE moved since the previous sample")
+  public int hereGrowth;
+}
@@ -41,6 +41,10 @@ class ADD implements Primitive {
     }
   }
 
+  static Number apply(Object element1, Object element2) {
+    return add.apply(element1, element2);
+  }
+
   private static class AddNumberFunction extends AbstractBinaryNumberFunction<Number> {
 
     @Override
@@ -65,12 +69,20 @@ class ADD implements Primitive {
 
     @Override
     protected Number apply(Long value1, Long value2) {
-      return value1 + value2;
+      try {
+        return Math.addExact(value1, value2);
+      } catch (ArithmeticException ex) {
+        return BigInteger.valueOf(value1).add(BigInteger.valueOf(value2));
+      }
     }
 
     @Override
     protected Number apply(Integer value1, Integer value2) {
-      return value1 + value2;
+      try {
+        return Math.addExact(value1, value2);
+      } catch (ArithmeticException ex) {
+        return (long) value1 + value2;
+      }
     }
 
     @Override
@@ -27,5 +27,8 @@ public class BRANCH implements Primitive {
     var NIPValue = (Integer) machine.getMemoryAt(NIP);
     var newNIP = NIP + NIPValue;
     machine.setNextInstructionPointer(newNIP);
+    if (NIPValue < 0 && machine.getTieringHook() != null) {
+      machine.getTieringHook().branchedBack(machine, machine.getInstrcutionPointer());
+    }
   }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import bjforth.variables.Variables;
+
+/**
+ * Starts a colon definition: reads the name, lays down the header and DOCOL and switches to
+ * compiling. The word stays hidden until {@link SEMICOLON}.
+ */
+class COLON implements Primitive {
+
+  @Override
+  public void execute(Machine machine) {
+    var name = WORD.readWord(machine);
+    if (name == null) {
+      return;
+    }
+    if (name.isEmpty()) {
+      throw new MachineException("End of stream");
+    }
+    CREATE.create(machine, name);
+    INTERPRET.compile(machine, PrimitiveFactory.DOCOL());
+    machine.setMemoryAt(Variables.STATE().getAddress(), 1);
+  }
+}
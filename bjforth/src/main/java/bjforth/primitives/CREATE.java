@@ -21,6 +21,7 @@ package bjforth.primitives;
 import bjforth.machine.DictionaryItem;
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
+import bjforth.machine.events.DefinitionEvent;
 import bjforth.variables.Variables;
 import java.util.NoSuchElementException;
 
@@ -31,17 +32,9 @@ public class CREATE implements Primitive {
     try {
       var lengthObject = machine.popFromParameterStack();
       var addressObject = machine.popFromParameterStack();
-      var HEREAddr = Variables.HERE().getAddress();
-      var HEREValue = (Integer) machine.getMemoryAt(HEREAddr);
-      var LATESTAddr = Variables.LATEST().getAddress();
       if (lengthObject instanceof Integer _length && addressObject instanceof Integer nameAddr) {
         var name = (String) machine.getMemoryAt(nameAddr);
-        machine.setMemoryAt(HEREValue, name);
-        var newHEREValue = HEREValue + 1;
-        machine.setMemoryAt(HEREAddr, newHEREValue);
-        machine.setMemoryAt(LATESTAddr, HEREValue);
-        var dictItem = new DictionaryItem(name, HEREValue, false, true);
-        machine.createDictionaryItem(name, dictItem);
+        create(machine, name);
       } else {
         throw new MachineException("Invalid argument");
       }
@@ -49,4 +42,25 @@ public class CREATE implements Primitive {
       throw new MachineException("ParameterStack error.");
     }
   }
+
+  /** Lays down the header of a new, hidden, word at HERE and makes it the LATEST one. */
+  static DictionaryItem create(Machine machine, String name) {
+    var HEREAddr = Variables.HERE().getAddress();
+    var HEREValue = (Integer) machine.getMemoryAt(HEREAddr);
+    var LATESTAddr = Variables.LATEST().getAddress();
+    machine.setMemoryAt(HEREValue, name);
+    var newHEREValue = HEREValue + 1;
+    machine.setMemoryAt(HEREAddr, newHEREValue);
+    machine.setMemoryAt(LATESTAddr, HEREValue);
+    var dictItem = new DictionaryItem(name, HEREValue, false, true);
+    machine.createDictionaryItem(name, dictItem);
+    var event = new DefinitionEvent();
+    if (event.shouldCommit()) {
+      event.machine = machine.getId();
+      event.word = name;
+      event.address = HEREValue;
+      event.commit();
+    }
+    return dictItem;
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.NativeSubroutine;
+
+/**
+ * The base of the classes generated by {@link WordCompiler}.
+ *
+ * <p>A compiled word sits in the code field of a colon definition, in place of DOCOL, and runs the
+ * whole definition in one dispatch. The threaded code of the definition is left untouched so that
+ * the interpreter can take over whenever the compiled code can't go on.
+ */
+public abstract class CompiledWord implements NativeSubroutine {
+
+  protected final Primitive[] primitives;
+  protected final Object[] constants;
+  private final int address;
+  private final int end;
+  private final NativeSubroutine original;
+
+  protected CompiledWord(
+      int address,
+      int end,
+      NativeSubroutine original,
+      Primitive[] primitives,
+      Object[] constants) {
+    this.address = address;
+    this.end = end;
+    this.original = original;
+    this.primitives = primitives;
+    this.constants = constants;
+  }
+
+  /** The address of the code field this word was compiled from. */
+  public int getAddress() {
+    return address;
+  }
+
+  /** The address right after the last cell this word was compiled from. */
+  public int getEnd() {
+    return end;
+  }
+
+  /** What the code field held before compilation, ie DOCOL. */
+  public NativeSubroutine getOriginal() {
+    return original;
+  }
+
+  @Override
+  public String toString() {
+    return "COMPILED(%d)".formatted(address);
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import java.util.NoSuchElementException;
+
+/** Runtime helpers called from the code generated by {@link WordCompiler}. */
+final class CompiledWordSupport {
+
+  private CompiledWordSupport() {}
+
+  /** DOCOL, minus setting NIP which compiled code doesn't need. */
+  static void docol(Machine machine) {
+    machine.pushToReturnStack(machine.getNextInstructionPointer());
+  }
+
+  /** ZBRANCH's test: whether the branch is taken. */
+  static boolean zbranch(Machine machine) {
+    try {
+      var parameterObj = machine.popFromParameterStack();
+      if (parameterObj instanceof Integer parameter) {
+        return parameter == 0;
+      } else {
+        throw new MachineException("Invalid parameter type");
+      }
+    } catch (NoSuchElementException ex) {
+      throw new MachineException("ParameterStack error.");
+    }
+  }
+
+  /** Leaves the registers as the interpreter would have them just before executing the cell. */
+  static void resume(Machine machine, int address) {
+    machine.jumpTo(address);
+    machine.setNextInstructionPointer(address + 1);
+  }
+
+  /**
+   * Whether a primitive, executed with the registers synchronised, has left NIP where the compiled
+   * code expects it and hasn't halted nor blocked the machine. If not, the registers are advanced
+   * as the interpreter would do and the interpreter takes over.
+   */
+  static boolean proceeds(Machine machine, int expectedNextInstructionPointer) {
+    var nip = machine.getNextInstructionPointer();
+    if (nip == expectedNextInstructionPointer
+        && !machine.isHalted()
+        && !machine.isAwaitingInput()) {
+      return true;
+    }
+    machine.jumpTo(nip);
+    machine.setNextInstructionPointer(nip + 1);
+    return false;
+  }
+}
@@ -66,12 +66,21 @@ class DIV implements Primitive {
 
     @Override
     protected Number apply(Long value1, Long value2) {
-      return value1 / value2;
+      try {
+        return Math.divideExact(value1, value2);
+      } catch (ArithmeticException ex) {
+        // MIN_VALUE / -1, or division by zero which BigInteger rejects as well.
+        return BigInteger.valueOf(value1).divide(BigInteger.valueOf(value2));
+      }
     }
 
     @Override
     protected Number apply(Integer value1, Integer value2) {
-      return value1 / value2;
+      try {
+        return Math.divideExact(value1, value2);
+      } catch (ArithmeticException ex) {
+        return (long) value1 / value2;
+      }
     }
 
     @Override
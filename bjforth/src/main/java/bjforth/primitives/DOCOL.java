@@ -24,7 +24,15 @@ class DOCOL implements Primitive {
 
   @Override
   public void execute(Machine machine) {
+    var tieringHook = machine.getTieringHook();
+    if (tieringHook != null) {
+      tieringHook.entered(machine, machine.getInstrcutionPointer());
+    }
     machine.pushToReturnStack(machine.getNextInstructionPointer());
     machine.setNextInstructionPointer(machine.getInstrcutionPointer() + 1);
+    var profiler = machine.getProfiler();
+    if (profiler != null) {
+      profiler.entered(machine, machine.getInstrcutionPointer());
+    }
   }
 }
@@ -21,27 +21,16 @@ package bjforth.primitives;
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.util.NoSuchElementException;
 
 class EMIT implements Primitive {
 
-  private OutputStreamWriter writer = null;
-
-  private synchronized OutputStreamWriter getWriter() {
-    if (writer == null) {
-      writer = new OutputStreamWriter(System.out);
-    }
-    return writer;
-  }
-
   @Override
   public void execute(Machine machine) {
     try {
       var chObject = machine.popFromParameterStack();
       if (chObject instanceof Integer ch) {
-        getWriter().write(ch);
-        getWriter().flush();
+        machine.getOutputSink().write(ch);
       } else {
         throw new MachineException("Invalid codepoint");
       }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import java.util.NoSuchElementException;
+
+class EXIT implements Primitive {
+
+  @Override
+  public void execute(Machine machine) {
+    try {
+      var returnAddrObject = machine.popFromReturnStack();
+      if (returnAddrObject instanceof Integer returnAddr) {
+        machine.setNextInstructionPointer(returnAddr.intValue());
+        var profiler = machine.getProfiler();
+        if (profiler != null) {
+          profiler.exited(machine);
+        }
+      } else {
+        throw new MachineException("Invalid return address");
+      }
+    } catch (NoSuchElementException ex) {
+      throw new MachineException("Return stack is already empty.");
+    }
+  }
+}
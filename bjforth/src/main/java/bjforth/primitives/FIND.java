@@ -29,17 +29,13 @@ class FIND implements Primitive {
     try {
       var wordNameObject = machine.popFromParameterStack();
       if (wordNameObject instanceof String wordName) {
-        var maybeDictionaryItem = machine.getDictionaryItem(wordName);
-        maybeDictionaryItem.ifPresentOrElse(
-            (dictionaryItem) -> {
-              if (!dictionaryItem.getIsHidden()) {
-                var dictionaryItemAddress = dictionaryItem.getAddress();
-                machine.pushToParameterStack(dictionaryItemAddress);
-              }
-            },
-            () -> {
-              throw new MachineException("No such DictionaryItem");
-            });
+        var word = machine.findWord(wordName);
+        if (!word.isFound()) {
+          throw new MachineException("No such DictionaryItem");
+        }
+        if (!word.isHidden()) {
+          machine.pushToParameterStack(word.address());
+        }
       } else {
         throw new MachineException("Invalid argument");
       }
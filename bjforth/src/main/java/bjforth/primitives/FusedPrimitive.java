@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.Machine;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * A superinstruction: a sequence of primitives which are executed in one dispatch.
+ *
+ * <p>A fused primitive replaces only the first cell of the sequence it stands for; the rest of the
+ * cells are left as they are and are skipped over at runtime. That keeps branch offsets valid,
+ * keeps branches into the middle of the sequence working and makes fusion trivially reversible.
+ *
+ * <p>The default {@link #execute(Machine)} simply runs the components one after the other, which
+ * saves the dispatch but not the intermediate stack traffic. Subclasses override it with a
+ * specialised implementation.
+ */
+public class FusedPrimitive implements Primitive {
+
+  private final Primitive[] components;
+  private final int span;
+
+  public FusedPrimitive(Primitive... components) {
+    if (components.length < 2) {
+      throw new IllegalArgumentException("At least two primitives are needed.");
+    }
+    for (int i = 0; i < components.length - 1; i++) {
+      if (!fallsThrough(components[i])) {
+        throw new IllegalArgumentException("Only the last primitive may transfer control.");
+      }
+    }
+    this.components = components.clone();
+    this.span = Arrays.stream(components).mapToInt(FusedPrimitive::cellsOf).sum();
+  }
+
+  @Override
+  public void execute(Machine machine) {
+    for (int i = 0; i < components.length - 1; i++) {
+      components[i].call(machine);
+    }
+    components[components.length - 1].execute(machine);
+  }
+
+  public Primitive[] getComponents() {
+    return components.clone();
+  }
+
+  /** The number of memory cells the sequence occupies, including inline operands. */
+  public int getSpan() {
+    return span;
+  }
+
+  /**
+   * Moves NIP past the cells of the sequence, as if the components had run one by one. To be used
+   * by the specialised implementations which don't transfer control.
+   */
+  protected void skip(Machine machine) {
+    machine.setNextInstructionPointer(machine.getNextInstructionPointer() + span - 1);
+  }
+
+  Primitive first() {
+    return components[0];
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.stream(components)
+        .map(component -> component.getClass().getSimpleName())
+        .collect(Collectors.joining(" ", "FUSED(", ")"));
+  }
+
+  /** The number of memory cells a primitive occupies, ie itself and its inline operands. */
+  static int cellsOf(Primitive primitive) {
+    if (primitive instanceof FusedPrimitive fused) {
+      return fused.span;
+    } else if (primitive == PrimitiveFactory.LIT()
+        || primitive == PrimitiveFactory.LITSTRING()
+        || primitive == PrimitiveFactory.BRANCH()
+        || primitive == PrimitiveFactory.ZBRANCH()) {
+      return 2;
+    } else {
+      return 1;
+    }
+  }
+
+  /**
+   * Whether a primitive always carries on with the cell after it and its operands, ie doesn't
+   * jump, return, halt nor wait for input. Only bjForth's own primitives are known to.
+   */
+  private static boolean fallsThrough(Primitive primitive) {
+    var opcode = PrimitiveFactory.opcodeOf(primitive);
+    if (opcode == null) {
+      return false;
+    }
+    return switch (opcode) {
+      case BRANCH, ZBRANCH, EXIT, DOCOL, HALT, BYE, KEY, WORD, COLON, INTERPRET -> false;
+      default -> true;
+    };
+  }
+}
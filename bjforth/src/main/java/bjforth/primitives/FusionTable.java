@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The sequences of primitives which {@link SuperinstructionPass} fuses, indexed by their first
+ * primitive. When several sequences start at the same cell, the longest one wins.
+ */
+public class FusionTable {
+
+  private final Map<Primitive, List<FusedPrimitive>> entries = new IdentityHashMap<>();
+
+  /** A table with the built-in superinstructions. */
+  public static FusionTable defaults() {
+    return new FusionTable()
+        .register(new LITADD())
+        .register(new LITSUB())
+        .register(new LITMUL())
+        .register(new DUPZBRANCH())
+        .register(new OVEROVER())
+        .register(new SWAPDROP())
+        .register(new FETCHINCRSTORE());
+  }
+
+  public FusionTable register(FusedPrimitive fused) {
+    var candidates = entries.computeIfAbsent(fused.first(), _first -> new ArrayList<>());
+    candidates.add(fused);
+    candidates.sort(
+        Comparator.comparingInt((FusedPrimitive f) -> f.getComponents().length).reversed());
+    return this;
+  }
+
+  /** Registers a sequence which has no specialised implementation. */
+  public FusionTable register(Primitive... sequence) {
+    return register(new FusedPrimitive(sequence));
+  }
+
+  public List<FusedPrimitive> getEntries() {
+    var result = new ArrayList<FusedPrimitive>();
+    entries.values().forEach(result::addAll);
+    return Collections.unmodifiableList(result);
+  }
+
+  List<FusedPrimitive> candidatesFor(Primitive first) {
+    return entries.getOrDefault(first, List.of());
+  }
+}
@@ -28,10 +28,13 @@ public class HIDDEN implements Primitive {
     try {
       var wordAddrObj = machine.popFromParameterStack();
       if (wordAddrObj instanceof Integer wordAddr) {
-        var maybeDictItem = machine.getDictionaryItem(wordAddr);
-        if (maybeDictItem.isPresent()) {
-          var dictItem = maybeDictItem.get();
+        var dictItem = machine.findDictionaryItem(wordAddr);
+        if (dictItem != null) {
           dictItem.setIsHidden(!dictItem.getIsHidden());
+          machine.dictionaryItemChanged(dictItem);
+          if (machine.getTieringHook() != null) {
+            machine.getTieringHook().invalidated(machine, dictItem);
+          }
         } else {
           throw new MachineException("DictionaryItem not found.");
         }
@@ -27,11 +27,10 @@ public class IMMEDIATE implements Primitive {
   public void execute(Machine machine) {
     var LATESTAddr = Variables.LATEST().getAddress();
     var LATESTValue = (Integer) machine.getMemoryAt(LATESTAddr);
-    var wordAddr = (Integer) machine.getMemoryAt(LATESTValue);
-    var maybeDictItem = machine.getDictionaryItem(wordAddr);
-    if (maybeDictItem.isPresent()) {
-      var dictItem = maybeDictItem.get();
+    var dictItem = machine.findDictionaryItem(LATESTValue);
+    if (dictItem != null) {
       dictItem.setIsImmediate(!dictItem.getIsImmediate());
+      machine.dictionaryItemChanged(dictItem);
     } else {
       throw new MachineException("DictionaryItem not found.");
     }
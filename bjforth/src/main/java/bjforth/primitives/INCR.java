@@ -40,6 +40,10 @@ class INCR implements Primitive {
     }
   }
 
+  static Number apply(Object element) {
+    return incr.apply(element);
+  }
+
   private static class IncrNumberFunction extends AbstractUnaryNumberFunction<Number> {
 
     @Override
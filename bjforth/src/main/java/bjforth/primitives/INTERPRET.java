@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import bjforth.machine.NativeSubroutine;
+import bjforth.variables.Variables;
+
+/**
+ * The outer interpreter: reads words from the input and either executes or, while STATE is
+ * non-zero, compiles them; a word which isn't in the dictionary has to be a number.
+ *
+ * <p>Words are looked up and numbers parsed right here rather than through WORD, FIND and NUMBER,
+ * so nothing goes through the parameter stack but the numbers being interpreted. Compiling is
+ * done the same way, straight into the code space at HERE, so loading a file full of definitions
+ * stays inside this one primitive for up to {@value #BATCH} words at a time.
+ *
+ * <p>A word to execute is written to the cell right after INTERPRET, which then hands over to it:
+ * the machine executes that cell next - a primitive or a call to a colon definition - and comes
+ * back to whatever follows it, in QUIT a branch back to INTERPRET. When the input ends, the
+ * machine is halted.
+ */
+class INTERPRET implements Primitive {
+
+  /** How many words are read, at most, before the machine gets the control back. */
+  static final int BATCH = 64;
+
+  @Override
+  public void execute(Machine machine) {
+    var IP = machine.getInstrcutionPointer();
+    var STATEAddr = Variables.STATE().getAddress();
+    var BASEAddr = Variables.BASE().getAddress();
+    for (var i = 0; i < BATCH; i++) {
+      var token = WORD.readWord(machine);
+      if (token == null) {
+        return;
+      }
+      if (token.isEmpty()) {
+        machine.halt(0);
+        return;
+      }
+      var isCompiling = (Integer) machine.getMemoryAt(STATEAddr) != 0;
+      var word = machine.findWord(token);
+      if (word.isFound() && !word.isHidden()) {
+        var code = codeOf(machine, word.address() + 1);
+        if (!isCompiling || word.isImmediate()) {
+          machine.setMemoryAt(IP + 1, code);
+          machine.setNextInstructionPointer(IP + 1);
+          return;
+        }
+        compile(machine, code);
+      } else {
+        var number = NUMBER.StringToNumber.valueOf(token, (Integer) machine.getMemoryAt(BASEAddr));
+        if (number == null) {
+          throw new MachineException("Unknown word: " + token);
+        }
+        if (isCompiling) {
+          compile(machine, PrimitiveFactory.LIT());
+          compile(machine, number);
+        } else {
+          machine.pushToParameterStack(number);
+        }
+      }
+    }
+    machine.setNextInstructionPointer(IP);
+  }
+
+  /** What executes the word whose code field is at {@code codeField}. */
+  private static NativeSubroutine codeOf(Machine machine, int codeField) {
+    var code = machine.getMemoryAt(codeField);
+    if (code instanceof Primitive primitive && primitive != PrimitiveFactory.DOCOL()) {
+      return primitive;
+    }
+    return new WordCall(codeField);
+  }
+
+  /** Appends {@code value} to the code space, at HERE. */
+  static void compile(Machine machine, Object value) {
+    var HEREAddr = Variables.HERE().getAddress();
+    var HEREValue = (Integer) machine.getMemoryAt(HEREAddr);
+    machine.setMemoryAt(HEREValue, value);
+    machine.setMemoryAt(HEREAddr, HEREValue + 1);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.DictionaryItem;
+import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import bjforth.variables.Variables;
+
+/**
+ * Sets up a bootstrapped machine to run Forth source from its input source: every primitive is
+ * defined as a word and the machine is pointed at QUIT, ie
+ *
+ * <pre>
+ *   : QUIT INTERPRET [slot] BRANCH -3 ;
+ * </pre>
+ *
+ * <p>where the slot is the cell {@link INTERPRET} writes the word to execute to.
+ */
+public class Interpreter {
+
+  private Interpreter() {}
+
+  /** Defines the primitives and QUIT and starts the machine on QUIT; the input has to follow. */
+  public static void install(Machine machine) {
+    for (var opcode : PrimitiveFactory.Opcode.values()) {
+      if (opcode.word != null) {
+        var dictItem = CREATE.create(machine, opcode.word);
+        INTERPRET.compile(machine, PrimitiveFactory.get(opcode));
+        dictItem.setIsImmediate(opcode.isImmediate);
+        reveal(machine, dictItem);
+      }
+    }
+    var dictItem = CREATE.create(machine, "QUIT");
+    INTERPRET.compile(machine, PrimitiveFactory.DOCOL());
+    INTERPRET.compile(machine, PrimitiveFactory.INTERPRET());
+    INTERPRET.compile(machine, 0);
+    INTERPRET.compile(machine, PrimitiveFactory.BRANCH());
+    INTERPRET.compile(machine, -3);
+    reveal(machine, dictItem);
+    restart(machine);
+  }
+
+  /**
+   * Carries on interpreting where the input was left, eg after an error: the return stack is
+   * emptied and STATE set back to interpreting.
+   */
+  public static void restart(Machine machine) {
+    var quit = machine.findDictionaryItem("QUIT");
+    if (quit == null) {
+      throw new MachineException("DictionaryItem not found.");
+    }
+    if (machine.getReturnStackDepth() > 0) {
+      // RSP! can take the stack down to its bottom-most item, but not past it.
+      machine.setReturnStackPointer(0);
+      machine.popFromReturnStack();
+    }
+    machine.setMemoryAt(Variables.STATE().getAddress(), 0);
+    var INTERPRETAddr = quit.getAddress() + 2;
+    machine.jumpTo(INTERPRETAddr);
+    machine.setNextInstructionPointer(INTERPRETAddr + 1);
+  }
+
+  private static void reveal(Machine machine, DictionaryItem dictItem) {
+    dictItem.setIsHidden(false);
+    machine.dictionaryItemChanged(dictItem);
+  }
+}
@@ -18,27 +18,33 @@
  */
 package bjforth.primitives;
 
+import bjforth.machine.InputSource;
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
+import bjforth.machine.OutputSink;
+import bjforth.machine.events.InputReadEvent;
 import java.io.IOException;
-import java.io.InputStreamReader;
 
 class KEY implements Primitive {
 
-  private InputStreamReader reader = null;
-
-  private synchronized InputStreamReader getReader() {
-    if (reader == null) {
-      reader = new InputStreamReader(System.in);
-    }
-    return reader;
-  }
-
   @Override
   public void execute(Machine machine) {
     try {
-      var ch = getReader().read();
-      if (ch == -1) throw new MachineException("End of stream");
+      machine.getOutputSink().flushOn(OutputSink.FlushPolicy.KEY);
+      var event = new InputReadEvent();
+      event.begin();
+      var ch = machine.getInputSource().read(machine.isInputBlocking());
+      event.end();
+      if (event.shouldCommit()) {
+        event.machine = machine.getId();
+        event.primitive = "KEY";
+        event.commit();
+      }
+      if (ch == InputSource.NOT_READY) {
+        machine.awaitInput();
+        return;
+      }
+      if (ch == InputSource.END_OF_INPUT) throw new MachineException("End of stream");
       machine.pushToParameterStack(ch);
     } catch (IOException e) {
       throw new MachineException(e);
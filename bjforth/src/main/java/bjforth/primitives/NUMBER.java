@@ -33,12 +33,7 @@ class NUMBER implements Primitive {
       var strObject = machine.popFromParameterStack();
       if (strObject instanceof String s) {
         var base = (Integer) machine.getMemoryAt(Variables.BASE().getAddress());
-        Number number;
-        try {
-          number = StringToNumber.valueOf(s, base);
-        } catch (NumberFormatException ex) {
-          number = null;
-        }
+        var number = StringToNumber.valueOf(s, base);
         var status = number == null ? -1 : 0;
         machine.pushToParameterStack(number);
         machine.pushToParameterStack(status);
@@ -50,39 +45,105 @@ class NUMBER implements Primitive {
     }
   }
 
-  private static class StringToNumber {
+  /**
+   * Parses a token in a single pass without throwing: returns the narrowest of Integer, Long or
+   * BigInteger that holds the value, a BigDecimal for a decimal literal when BASE is 10, or null if
+   * the token is not a number.
+   */
+  static class StringToNumber {
 
     static Number valueOf(String s, int base) {
-      if (s == null || s.isEmpty()) {
+      if (s == null || s.isEmpty() || base < Character.MIN_RADIX || base > Character.MAX_RADIX) {
         return null;
       }
-      if (base != 10) {
-        return toInteger(s, base);
-      } else {
-        Number result = null;
-        result = toInteger(s, 10);
-        if (result != null) {
-          return result;
+      var length = s.length();
+      var i = 0;
+      var negative = false;
+      var first = s.charAt(0);
+      if (first == '-' || first == '+') {
+        negative = first == '-';
+        i++;
+      }
+      var digitsStart = i;
+
+      // Accumulate negatively, as Long.parseLong does, so that Long.MIN_VALUE fits.
+      var limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+      var multiplyLimit = limit / base;
+      var value = 0L;
+      var overflow = false;
+      for (; i < length; i++) {
+        var digit = Character.digit(s.charAt(i), base);
+        if (digit < 0) {
+          break;
+        }
+        if (!overflow) {
+          if (value < multiplyLimit || value * base < limit + digit) {
+            overflow = true;
+          } else {
+            value = value * base - digit;
+          }
+        }
+      }
+      var integerDigits = i - digitsStart;
+
+      if (i == length) {
+        if (integerDigits == 0) {
+          return null;
+        } else if (overflow) {
+          return new BigInteger(s, base);
+        }
+        var result = negative ? value : -value;
+        if ((int) result == result) {
+          return (int) result;
         } else {
-          return new BigDecimal(s);
+          return result;
         }
       }
+      return base == 10 ? toDecimal(s, i, integerDigits) : null;
     }
 
-    private static Number toInteger(String s, int base) {
-      try {
-        return Integer.valueOf(s, base);
-      } catch (NumberFormatException ignore1) {
+    /** Continues the scan at {@code i} over the fraction and exponent of a decimal literal. */
+    private static BigDecimal toDecimal(String s, int i, int integerDigits) {
+      var length = s.length();
+      var fractionDigits = 0;
+      if (s.charAt(i) == '.') {
+        i++;
+        for (; i < length && Character.digit(s.charAt(i), 10) >= 0; i++) {
+          fractionDigits++;
+        }
       }
-      try {
-        return Long.valueOf(s, base);
-      } catch (NumberFormatException ignore2) {
+      if (integerDigits + fractionDigits == 0) {
+        return null;
       }
-      try {
-        return new BigInteger(s, base);
-      } catch (NumberFormatException ignore3) {
+      var exponent = 0L;
+      if (i < length && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+        i++;
+        var negativeExponent = false;
+        if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+          negativeExponent = s.charAt(i) == '-';
+          i++;
+        }
+        var exponentStart = i;
+        for (; i < length; i++) {
+          var digit = Character.digit(s.charAt(i), 10);
+          if (digit < 0) {
+            break;
+          }
+          exponent = exponent * 10 + digit;
+          if (exponent > Integer.MAX_VALUE) {
+            return null;
+          }
+        }
+        if (i == exponentStart) {
+          return null;
+        }
+        exponent = negativeExponent ? -exponent : exponent;
+      }
+      var scale = fractionDigits - exponent;
+      if (i != length || scale != (int) scale) {
+        return null;
       }
-      return null;
+      return new BigDecimal(s);
     }
   }
 }
@@ -18,421 +18,456 @@
  */
 package bjforth.primitives;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Supplier;
 
+/**
+ * The registry of primitives: every primitive is created once, when this class is initialised, and
+ * stored in a table indexed by its {@link Opcode}.
+ *
+ * <p>Lookups read the table without any locking. Tests can swap a primitive for another with
+ * {@link #override(String, Primitive)}; that replaces the whole table instead of modifying it.
+ */
 public class PrimitiveFactory {
 
-  private static PrimitiveContainer containerADD = new PrimitiveContainer(ADD::new);
+  /** A primitive's opcode is its index in the registry table. */
+  enum Opcode {
+    ADD("+", ADD::new),
+    ADDSTORE("+!", ADDSTORE::new),
+    BASE("BASE", BASE::new),
+    BRANCH("BRANCH", BRANCH::new),
+    BYE("BYE", BYE::new),
+    CFA(">CFA", CFA::new),
+    COPY("COPY", COPY::new),
+    CREATE("CREATE", CREATE::new),
+    COMMA(",", COMMA::new),
+    DECR("1-", DECR::new),
+    DECR4("4-", DECR4::new),
+    DFA(">DFA", DFA::new),
+    DIV("/", DIV::new),
+    DOCOL(DOCOL::new),
+    DROP("DROP", DROP::new),
+    DSPFETCH("DSP@", DSPFETCH::new),
+    DSPSTORE("DSP!", DSPSTORE::new),
+    DUP("DUP", DUP::new),
+    EMIT("EMIT", EMIT::new),
+    EQU("=", EQU::new),
+    EXIT("EXIT", EXIT::new),
+    FETCH("@", FETCH::new),
+    FIND("FIND", FIND::new),
+    FROMR("R>", FROMR::new),
+    GE(">=", GE::new),
+    GT(">", GT::new),
+    HALT("HALT", HALT::new),
+    HERE("HERE", HERE::new),
+    HIDDEN("HIDDEN", HIDDEN::new),
+    IMMEDIATE("IMMEDIATE", true, IMMEDIATE::new),
+    INCR("1+", INCR::new),
+    INCR4("4+", INCR4::new),
+    KEY("KEY", KEY::new),
+    LATEST("LATEST", LATEST::new),
+    LBRAC("[", true, LBRAC::new),
+    LIT("LIT", LIT::new),
+    LITSTRING("LITSTRING", LITSTRING::new),
+    LT("<", LT::new),
+    LTE("<=", LTE::new),
+    MOD("MOD", MOD::new),
+    MOVE("MOVE", MOVE::new),
+    MUL("*", MUL::new),
+    NEQU("<>", NEQU::new),
+    NROT("-ROT", NROT::new),
+    OVER("OVER", OVER::new),
+    QDUP("?DUP", QDUP::new),
+    RBRAC("]", RBRAC::new),
+    RDROP("RDROP", RDROP::new),
+    ROT("ROT", ROT::new),
+    RSPFETCH("RSP@", RSPFETCH::new),
+    RSPSTORE("RSP!", RSPSTORE::new),
+    STORE("!", STORE::new),
+    SUB("-", SUB::new),
+    SUBSTORE("-!", SUBSTORE::new),
+    SWAP("SWAP", SWAP::new),
+    TELL("TELL", TELL::new),
+    TOR(">R", TOR::new),
+    TWODROP("2DROP", TWODROP::new),
+    TWODUP("2DUP", TWODUP::new),
+    TWOSWAP("2SWAP", TWOSWAP::new),
+    WORD("WORD", WORD::new),
+    ZBRANCH("0BRANCH", ZBRANCH::new),
+    ZEQU("0=", ZEQU::new),
+    ZGE("0>=", ZGE::new),
+    ZGT("0>", ZGT::new),
+    ZLE("0<=", ZLE::new),
+    ZLT("0<", ZLT::new),
+    ZNEQU("0<>", ZNEQU::new),
+    NUMBER("NUMBER", NUMBER::new),
+    // Not a word: it writes to the cell after itself, which only QUIT leaves free for it.
+    INTERPRET(INTERPRET::new),
+    COLON(":", COLON::new),
+    SEMICOLON(";", true, SEMICOLON::new);
+
+    /** The name of the Forth word for this primitive; null if it isn't one. */
+    final String word;
+
+    final boolean isImmediate;
+    private final Supplier<Primitive> constructor;
+
+    Opcode(Supplier<Primitive> constructor) {
+      this(null, false, constructor);
+    }
+
+    Opcode(String word, Supplier<Primitive> constructor) {
+      this(word, false, constructor);
+    }
 
-  static Primitive ADD() {
-    return containerADD.get();
+    Opcode(String word, boolean isImmediate, Supplier<Primitive> constructor) {
+      this.word = word;
+      this.isImmediate = isImmediate;
+      this.constructor = constructor;
+    }
   }
 
-  private static PrimitiveContainer containerADDSTORE = new PrimitiveContainer(ADDSTORE::new);
+  private static final Primitive[] PRIMITIVES;
+  private static final Map<String, Opcode> OPCODES_BY_NAME;
+  private static final Map<Primitive, Opcode> OPCODES_BY_PRIMITIVE;
 
-  static Primitive ADDSTORE() {
-    return containerADDSTORE.get();
+  private static volatile Primitive[] table;
+
+  static {
+    var opcodes = Opcode.values();
+    var primitives = new Primitive[opcodes.length];
+    var byName = new HashMap<String, Opcode>();
+    var byPrimitive = new IdentityHashMap<Primitive, Opcode>();
+    for (var opcode : opcodes) {
+      primitives[opcode.ordinal()] = opcode.constructor.get();
+      byName.put(opcode.name(), opcode);
+      byPrimitive.put(primitives[opcode.ordinal()], opcode);
+    }
+    PRIMITIVES = primitives;
+    OPCODES_BY_NAME = Map.copyOf(byName);
+    OPCODES_BY_PRIMITIVE = Collections.unmodifiableMap(byPrimitive);
+    table = PRIMITIVES;
   }
 
-  private static PrimitiveContainer containerBASE = new PrimitiveContainer(BASE::new);
+  static Primitive get(Opcode opcode) {
+    return table[opcode.ordinal()];
+  }
 
-  static Primitive BASE() {
-    return containerBASE.get();
+  static Optional<Primitive> byName(String name) {
+    var opcode = OPCODES_BY_NAME.get(name);
+    return opcode == null ? Optional.empty() : Optional.of(get(opcode));
   }
 
-  private static PrimitiveContainer containerBRANCH = new PrimitiveContainer(BRANCH::new);
+  /** The opcode of one of the registry's own primitives; null for anything else, eg an override. */
+  static Opcode opcodeOf(Primitive primitive) {
+    return OPCODES_BY_PRIMITIVE.get(primitive);
+  }
+
+  /** Makes the primitive called {@code name} resolve to {@code replacement}; for testing. */
+  static synchronized void override(String name, Primitive replacement) {
+    var opcode = OPCODES_BY_NAME.get(name);
+    if (opcode == null) {
+      throw new IllegalArgumentException("No such primitive: " + name);
+    }
+    var overridden = table.clone();
+    overridden[opcode.ordinal()] = replacement;
+    table = overridden;
+  }
+
+  /** Undoes every {@link #override(String, Primitive)}. */
+  static synchronized void resetOverrides() {
+    table = PRIMITIVES;
+  }
+
+  static Primitive ADD() {
+    return table[Opcode.ADD.ordinal()];
+  }
+
+  static Primitive ADDSTORE() {
+    return table[Opcode.ADDSTORE.ordinal()];
+  }
+
+  static Primitive BASE() {
+    return table[Opcode.BASE.ordinal()];
+  }
 
   static Primitive BRANCH() {
-    return containerBRANCH.get();
+    return table[Opcode.BRANCH.ordinal()];
   }
 
-  private static PrimitiveContainer containerCFA = new PrimitiveContainer(CFA::new);
+  static Primitive BYE() {
+    return table[Opcode.BYE.ordinal()];
+  }
 
   static Primitive CFA() {
-    return containerCFA.get();
+    return table[Opcode.CFA.ordinal()];
   }
 
-  private static PrimitiveContainer containerCOPY = new PrimitiveContainer(COPY::new);
-
   static Primitive COPY() {
-    return containerCOPY.get();
+    return table[Opcode.COPY.ordinal()];
   }
 
-  private static PrimitiveContainer containerCREATE = new PrimitiveContainer(CREATE::new);
-
   static Primitive CREATE() {
-    return containerCREATE.get();
+    return table[Opcode.CREATE.ordinal()];
   }
 
-  private static PrimitiveContainer containerCOMMA = new PrimitiveContainer(COMMA::new);
-
   static Primitive COMMA() {
-    return containerCOMMA.get();
+    return table[Opcode.COMMA.ordinal()];
   }
 
-  private static PrimitiveContainer containerDECR = new PrimitiveContainer(DECR::new);
-
   static Primitive DECR() {
-    return containerDECR.get();
+    return table[Opcode.DECR.ordinal()];
   }
 
-  private static PrimitiveContainer containerDECR4 = new PrimitiveContainer(DECR4::new);
-
   static Primitive DECR4() {
-    return containerDECR4.get();
+    return table[Opcode.DECR4.ordinal()];
   }
 
-  private static PrimitiveContainer containerDFA = new PrimitiveContainer(DFA::new);
-
   static Primitive DFA() {
-    return containerDFA.get();
+    return table[Opcode.DFA.ordinal()];
   }
 
-  private static PrimitiveContainer containerDIV = new PrimitiveContainer(DIV::new);
-
   static Primitive DIV() {
-    return containerDIV.get();
+    return table[Opcode.DIV.ordinal()];
   }
 
-  private static PrimitiveContainer containerDOCOL = new PrimitiveContainer(DOCOL::new);
-
   static Primitive DOCOL() {
-    return containerDOCOL.get();
+    return table[Opcode.DOCOL.ordinal()];
   }
 
-  private static PrimitiveContainer containerDROP = new PrimitiveContainer(DROP::new);
-
   static Primitive DROP() {
-    return containerDROP.get();
+    return table[Opcode.DROP.ordinal()];
   }
 
-  private static PrimitiveContainer containerDSPFETCH = new PrimitiveContainer(DSPFETCH::new);
-
   static Primitive DSPFETCH() {
-    return containerDSPFETCH.get();
+    return table[Opcode.DSPFETCH.ordinal()];
   }
 
-  private static PrimitiveContainer containerDSPSTORE = new PrimitiveContainer(DSPSTORE::new);
-
   static Primitive DSPSTORE() {
-    return containerDSPSTORE.get();
+    return table[Opcode.DSPSTORE.ordinal()];
   }
 
-  private static PrimitiveContainer containerDUP = new PrimitiveContainer(DUP::new);
-
   static Primitive DUP() {
-    return containerDUP.get();
+    return table[Opcode.DUP.ordinal()];
   }
 
-  private static PrimitiveContainer containerEMIT = new PrimitiveContainer(EMIT::new);
-
   static Primitive EMIT() {
-    return containerEMIT.get();
+    return table[Opcode.EMIT.ordinal()];
   }
 
-  private static PrimitiveContainer containerEQU = new PrimitiveContainer(EQU::new);
-
   static Primitive EQU() {
-    return containerEQU.get();
+    return table[Opcode.EQU.ordinal()];
   }
 
-  private static PrimitiveContainer containerFETCH = new PrimitiveContainer(FETCH::new);
+  static Primitive EXIT() {
+    return table[Opcode.EXIT.ordinal()];
+  }
 
   static Primitive FETCH() {
-    return containerFETCH.get();
+    return table[Opcode.FETCH.ordinal()];
   }
 
-  private static PrimitiveContainer containerFIND = new PrimitiveContainer(FIND::new);
-
   static Primitive FIND() {
-    return containerFIND.get();
+    return table[Opcode.FIND.ordinal()];
   }
 
-  private static PrimitiveContainer containerFROMR = new PrimitiveContainer(FROMR::new);
-
   static Primitive FROMR() {
-    return containerFROMR.get();
+    return table[Opcode.FROMR.ordinal()];
   }
 
-  private static PrimitiveContainer containerGE = new PrimitiveContainer(GE::new);
-
   static Primitive GE() {
-    return containerGE.get();
+    return table[Opcode.GE.ordinal()];
   }
 
-  private static PrimitiveContainer containerGT = new PrimitiveContainer(GT::new);
-
   static Primitive GT() {
-    return containerGT.get();
+    return table[Opcode.GT.ordinal()];
   }
 
-  private static PrimitiveContainer containerHERE = new PrimitiveContainer(HERE::new);
+  static Primitive HALT() {
+    return table[Opcode.HALT.ordinal()];
+  }
 
   static Primitive HERE() {
-    return containerHERE.get();
+    return table[Opcode.HERE.ordinal()];
   }
 
-  private static PrimitiveContainer containerHIDDEN = new PrimitiveContainer(HIDDEN::new);
-
   static Primitive HIDDEN() {
-    return containerHIDDEN.get();
+    return table[Opcode.HIDDEN.ordinal()];
   }
 
-  private static PrimitiveContainer containerIMMEDIATE = new PrimitiveContainer(IMMEDIATE::new);
-
   static Primitive IMMEDIATE() {
-    return containerIMMEDIATE.get();
+    return table[Opcode.IMMEDIATE.ordinal()];
   }
 
-  private static PrimitiveContainer containerINCR = new PrimitiveContainer(INCR::new);
-
   static Primitive INCR() {
-    return containerINCR.get();
+    return table[Opcode.INCR.ordinal()];
   }
 
-  private static PrimitiveContainer containerINCR4 = new PrimitiveContainer(INCR4::new);
-
   static Primitive INCR4() {
-    return containerINCR4.get();
+    return table[Opcode.INCR4.ordinal()];
   }
 
-  private static PrimitiveContainer containerKEY = new PrimitiveContainer(KEY::new);
-
   static Primitive KEY() {
-    return containerKEY.get();
+    return table[Opcode.KEY.ordinal()];
   }
 
-  private static PrimitiveContainer containerLATEST = new PrimitiveContainer(LATEST::new);
-
   static Primitive LATEST() {
-    return containerLATEST.get();
+    return table[Opcode.LATEST.ordinal()];
   }
 
-  private static PrimitiveContainer containerLBRAC = new PrimitiveContainer(LBRAC::new);
-
   static Primitive LBRAC() {
-    return containerLBRAC.get();
+    return table[Opcode.LBRAC.ordinal()];
   }
 
-  private static PrimitiveContainer containerLIT = new PrimitiveContainer(LIT::new);
-
   static Primitive LIT() {
-    return containerLIT.get();
+    return table[Opcode.LIT.ordinal()];
   }
 
-  private static PrimitiveContainer containerLITSTRING = new PrimitiveContainer(LITSTRING::new);
-
   static Primitive LITSTRING() {
-    return containerLITSTRING.get();
+    return table[Opcode.LITSTRING.ordinal()];
   }
 
-  private static PrimitiveContainer containerLT = new PrimitiveContainer(LT::new);
-
   static Primitive LT() {
-    return containerLT.get();
+    return table[Opcode.LT.ordinal()];
   }
 
-  private static PrimitiveContainer containerLTE = new PrimitiveContainer(LTE::new);
-
   static Primitive LTE() {
-    return containerLTE.get();
+    return table[Opcode.LTE.ordinal()];
   }
 
-  private static PrimitiveContainer containerMOD = new PrimitiveContainer(MOD::new);
-
   static Primitive MOD() {
-    return containerMOD.get();
+    return table[Opcode.MOD.ordinal()];
   }
 
-  private static PrimitiveContainer containerMOVE = new PrimitiveContainer(MOVE::new);
-
   static Primitive MOVE() {
-    return containerMOVE.get();
+    return table[Opcode.MOVE.ordinal()];
   }
 
-  private static PrimitiveContainer containerMUL = new PrimitiveContainer(MUL::new);
-
   static Primitive MUL() {
-    return containerMUL.get();
+    return table[Opcode.MUL.ordinal()];
   }
 
-  private static PrimitiveContainer containerNEQU = new PrimitiveContainer(NEQU::new);
-
   static Primitive NEQU() {
-    return containerNEQU.get();
+    return table[Opcode.NEQU.ordinal()];
   }
 
-  private static PrimitiveContainer containerNROT = new PrimitiveContainer(NROT::new);
-
   static Primitive NROT() {
-    return containerNROT.get();
+    return table[Opcode.NROT.ordinal()];
   }
 
-  private static PrimitiveContainer containerOVER = new PrimitiveContainer(OVER::new);
-
   static Primitive OVER() {
-    return containerOVER.get();
+    return table[Opcode.OVER.ordinal()];
   }
 
-  private static PrimitiveContainer containerQDUP = new PrimitiveContainer(QDUP::new);
-
   static Primitive QDUP() {
-    return containerQDUP.get();
+    return table[Opcode.QDUP.ordinal()];
   }
 
-  private static PrimitiveContainer containerRBRAC = new PrimitiveContainer(RBRAC::new);
-
   static Primitive RBRAC() {
-    return containerRBRAC.get();
+    return table[Opcode.RBRAC.ordinal()];
   }
 
-  private static PrimitiveContainer containerRDROP = new PrimitiveContainer(RDROP::new);
-
   static Primitive RDROP() {
-    return containerRDROP.get();
+    return table[Opcode.RDROP.ordinal()];
   }
 
-  private static PrimitiveContainer containerROT = new PrimitiveContainer(ROT::new);
-
   static Primitive ROT() {
-    return containerROT.get();
+    return table[Opcode.ROT.ordinal()];
   }
 
-  private static PrimitiveContainer containerRSPFETCH = new PrimitiveContainer(RSPFETCH::new);
-
   static Primitive RSPFETCH() {
-    return containerRSPFETCH.get();
+    return table[Opcode.RSPFETCH.ordinal()];
   }
 
-  private static PrimitiveContainer containerRSPSTORE = new PrimitiveContainer(RSPSTORE::new);
-
   static Primitive RSPSTORE() {
-    return containerRSPSTORE.get();
+    return table[Opcode.RSPSTORE.ordinal()];
   }
 
-  private static PrimitiveContainer containerSTORE = new PrimitiveContainer(STORE::new);
-
   static Primitive STORE() {
-    return containerSTORE.get();
+    return table[Opcode.STORE.ordinal()];
   }
 
-  private static PrimitiveContainer containerSUB = new PrimitiveContainer(SUB::new);
-
   static Primitive SUB() {
-    return containerSUB.get();
+    return table[Opcode.SUB.ordinal()];
   }
 
-  private static PrimitiveContainer containerSUBSTORE = new PrimitiveContainer(SUBSTORE::new);
-
   static Primitive SUBSTORE() {
-    return containerSUBSTORE.get();
+    return table[Opcode.SUBSTORE.ordinal()];
   }
 
-  private static PrimitiveContainer containerSWAP = new PrimitiveContainer(SWAP::new);
-
   static Primitive SWAP() {
-    return containerSWAP.get();
+    return table[Opcode.SWAP.ordinal()];
   }
 
-  private static PrimitiveContainer containerTELL = new PrimitiveContainer(TELL::new);
-
   static Primitive TELL() {
-    return containerTELL.get();
+    return table[Opcode.TELL.ordinal()];
   }
 
-  private static PrimitiveContainer containerTOR = new PrimitiveContainer(TOR::new);
-
   static Primitive TOR() {
-    return containerTOR.get();
+    return table[Opcode.TOR.ordinal()];
   }
 
-  private static PrimitiveContainer containerTWODROP = new PrimitiveContainer(TWODROP::new);
-
   static Primitive TWODROP() {
-    return containerTWODROP.get();
+    return table[Opcode.TWODROP.ordinal()];
   }
 
-  private static PrimitiveContainer containerTWODUP = new PrimitiveContainer(TWODUP::new);
-
   static Primitive TWODUP() {
-    return containerTWODUP.get();
+    return table[Opcode.TWODUP.ordinal()];
   }
 
-  private static PrimitiveContainer containerTWOSWAP = new PrimitiveContainer(TWOSWAP::new);
-
   static Primitive TWOSWAP() {
-    return containerTWOSWAP.get();
+    return table[Opcode.TWOSWAP.ordinal()];
   }
 
-  private static PrimitiveContainer containerWORD = new PrimitiveContainer(WORD::new);
-
   static Primitive WORD() {
-    return containerWORD.get();
+    return table[Opcode.WORD.ordinal()];
   }
 
-  private static PrimitiveContainer containerZBRANCH = new PrimitiveContainer(ZBRANCH::new);
-
   static Primitive ZBRANCH() {
-    return containerZBRANCH.get();
+    return table[Opcode.ZBRANCH.ordinal()];
   }
 
-  private static PrimitiveContainer containerZEQU = new PrimitiveContainer(ZEQU::new);
-
   static Primitive ZEQU() {
-    return containerZEQU.get();
+    return table[Opcode.ZEQU.ordinal()];
   }
 
-  private static PrimitiveContainer containerZGE = new PrimitiveContainer(ZGE::new);
-
   static Primitive ZGE() {
-    return containerZGE.get();
+    return table[Opcode.ZGE.ordinal()];
   }
 
-  private static PrimitiveContainer containerZGT = new PrimitiveContainer(ZGT::new);
-
   static Primitive ZGT() {
-    return containerZGT.get();
+    return table[Opcode.ZGT.ordinal()];
   }
 
-  private static PrimitiveContainer containerZLE = new PrimitiveContainer(ZLE::new);
-
   static Primitive ZLE() {
-    return containerZLE.get();
+    return table[Opcode.ZLE.ordinal()];
   }
 
-  private static PrimitiveContainer containerZLT = new PrimitiveContainer(ZLT::new);
-
   static Primitive ZLT() {
-    return containerZLT.get();
+    return table[Opcode.ZLT.ordinal()];
   }
 
-  private static PrimitiveContainer containerZNEQU = new PrimitiveContainer(ZNEQU::new);
-
   static Primitive ZNEQU() {
-    return containerZNEQU.get();
+    return table[Opcode.ZNEQU.ordinal()];
   }
 
-  private static PrimitiveContainer containerNUMBER = new PrimitiveContainer(NUMBER::new);
-
   static Primitive NUMBER() {
-    return containerNUMBER.get();
+    return table[Opcode.NUMBER.ordinal()];
   }
 
-  private static class PrimitiveContainer {
-
-    private Primitive instance;
-    private Supplier<Primitive> supplier;
+  static Primitive INTERPRET() {
+    return table[Opcode.INTERPRET.ordinal()];
+  }
 
-    PrimitiveContainer(Supplier<Primitive> supplier) {
-      this.instance = null;
-      this.supplier = supplier;
-    }
+  static Primitive COLON() {
+    return table[Opcode.COLON.ordinal()];
+  }
 
-    private synchronized Primitive get() {
-      if (instance == null) {
-        instance = supplier.get();
-      }
-      return instance;
-    }
+  static Primitive SEMICOLON() {
+    return table[Opcode.SEMICOLON.ordinal()];
   }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import bjforth.variables.Variables;
+
+/** Ends a colon definition: compiles EXIT, unhides the word and switches back to interpreting. */
+class SEMICOLON implements Primitive {
+
+  @Override
+  public void execute(Machine machine) {
+    INTERPRET.compile(machine, PrimitiveFactory.EXIT());
+    var LATESTValue = (Integer) machine.getMemoryAt(Variables.LATEST().getAddress());
+    var dictItem = machine.findDictionaryItem(LATESTValue);
+    if (dictItem == null) {
+      throw new MachineException("DictionaryItem not found.");
+    }
+    dictItem.setIsHidden(false);
+    machine.dictionaryItemChanged(dictItem);
+    if (machine.getTieringHook() != null) {
+      machine.getTieringHook().invalidated(machine, dictItem);
+    }
+    machine.setMemoryAt(Variables.STATE().getAddress(), 0);
+  }
+}
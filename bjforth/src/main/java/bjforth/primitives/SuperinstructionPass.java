@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.Machine;
+import bjforth.machine.NativeSubroutine;
+import bjforth.variables.Variables;
+
+/**
+ * Replaces frequent sequences of primitives in threaded code with {@link FusedPrimitive}s.
+ *
+ * <p>The pass walks the cells one instruction at a time, stepping over inline operands (eg the
+ * literal after LIT), so data is never mistaken for code.
+ *
+ * <p>Over the whole memory, only the bodies of colon definitions are looked at: the cells after a
+ * DOCOL up to the first one which isn't code, typically the name of the next word. Code fields and
+ * the data of other words are left alone.
+ */
+public class SuperinstructionPass {
+
+  private final FusionTable table;
+
+  public SuperinstructionPass(FusionTable table) {
+    this.table = table;
+  }
+
+  /** Fuses the bodies of the colon definitions between the start of memory and HERE. */
+  public int fuse(Machine machine) {
+    var count = 0;
+    var here = here(machine);
+    for (var address = 0; address < here; address++) {
+      if (isColonDefinition(machine.getMemoryAt(address))) {
+        var end = endOfBody(machine, address + 1, here);
+        count += fuse(machine, address + 1, end);
+        address = end - 1;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Fuses the sequences found in [{@code from}, {@code to}).
+   *
+   * @return the number of sequences fused
+   */
+  public int fuse(Machine machine, int from, int to) {
+    var count = 0;
+    var address = from;
+    while (address < to) {
+      if (machine.getMemoryAt(address) instanceof Primitive primitive) {
+        var fused = match(machine, primitive, address, to);
+        if (fused != null) {
+          machine.setMemoryAt(address, fused);
+          count++;
+          address += fused.getSpan();
+        } else {
+          address += FusedPrimitive.cellsOf(primitive);
+        }
+      } else {
+        address++;
+      }
+    }
+    return count;
+  }
+
+  /** Reverts the bodies of the colon definitions between the start of memory and HERE. */
+  public int unfuse(Machine machine) {
+    var count = 0;
+    var here = here(machine);
+    for (var address = 0; address < here; address++) {
+      if (isColonDefinition(machine.getMemoryAt(address))) {
+        var end = endOfBody(machine, address + 1, here);
+        count += unfuse(machine, address + 1, end);
+        address = end - 1;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Reverts the fused sequences found in [{@code from}, {@code to}) to their original primitives.
+   *
+   * @return the number of sequences reverted
+   */
+  public int unfuse(Machine machine, int from, int to) {
+    var count = 0;
+    var address = from;
+    while (address < to) {
+      if (machine.getMemoryAt(address) instanceof Primitive primitive) {
+        if (primitive instanceof FusedPrimitive fused) {
+          machine.setMemoryAt(address, fused.first());
+          count++;
+        }
+        address += FusedPrimitive.cellsOf(primitive);
+      } else {
+        address++;
+      }
+    }
+    return count;
+  }
+
+  private FusedPrimitive match(Machine machine, Primitive first, int from, int to) {
+    for (var fused : table.candidatesFor(first)) {
+      if (from + fused.getSpan() <= to && matches(machine, fused, from)) {
+        return fused;
+      }
+    }
+    return null;
+  }
+
+  private static boolean matches(Machine machine, FusedPrimitive fused, int from) {
+    var address = from;
+    for (var component : fused.getComponents()) {
+      if (machine.getMemoryAt(address) != component) {
+        return false;
+      }
+      address += FusedPrimitive.cellsOf(component);
+    }
+    return true;
+  }
+
+  private static boolean isColonDefinition(Object codeField) {
+    return codeField == PrimitiveFactory.DOCOL() || codeField instanceof CompiledWord;
+  }
+
+  /** The first cell from {@code from} on which isn't code, nor an operand, nor HERE. */
+  private static int endOfBody(Machine machine, int from, int here) {
+    var address = from;
+    while (address < here) {
+      var cell = machine.getMemoryAt(address);
+      if (!(cell instanceof NativeSubroutine) || isColonDefinition(cell)) {
+        break;
+      }
+      address += cell instanceof Primitive primitive ? FusedPrimitive.cellsOf(primitive) : 1;
+    }
+    return Math.min(address, here);
+  }
+
+  private static int here(Machine machine) {
+    return (Integer) machine.getMemoryAt(Variables.HERE().getAddress());
+  }
+}
@@ -34,7 +34,12 @@ public class TELL implements Primitive {
       if (streamObj instanceof OutputStream stream && addressObj instanceof Integer address) {
         var stringObj = machine.getMemoryAt(address);
         if (stringObj instanceof String string) {
-          stream.write(string.getBytes());
+          var sink = machine.getOutputSink();
+          if (stream == sink.getStream()) {
+            sink.write(string);
+          } else {
+            stream.write(string.getBytes());
+          }
         } else {
           throw new MachineException("Invalid type");
         }
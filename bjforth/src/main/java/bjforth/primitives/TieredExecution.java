@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.DictionaryItem;
+import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import bjforth.machine.TieringHook;
+import bjforth.machine.events.WordPromotionEvent;
+import java.util.Arrays;
+
+/**
+ * Promotes hot colon definitions from threaded code to compiled code.
+ *
+ * <p>Every colon definition has two counters: how many times it was entered and how many times a
+ * loop inside it went round. When either reaches its threshold, the word is compiled with {@link
+ * WordCompiler} and the compiled form is installed in its code field; the next call runs it. When
+ * the word is redefined or HIDDEN, or any of the cells it was compiled from is written to, eg by
+ * {@code !}, {@code ,} or {@link SuperinstructionPass}, the compiled form is thrown away and
+ * counting starts over. Nothing else has to be thrown away with it: compiled code never inlines
+ * a call to another word, it hands over to the interpreter instead, so no compiled word depends on
+ * another one.
+ *
+ * <p>Words with loops are promoted too: compiled loops count their rounds against the machine's
+ * slice and hand back when it's used up, see {@link Machine#countBackEdge(int)}.
+ *
+ * <p>The counters are kept in arrays indexed by code field address, so counting doesn't allocate.
+ * Addresses beyond {@link #MAX_ADDRESS} are not counted.
+ *
+ * <pre>
+ *   machine.setTieringHook(new TieredExecution());
+ * </pre>
+ */
+public class TieredExecution implements TieringHook {
+
+  public static final int DEFAULT_INVOCATION_THRESHOLD = 1_000;
+  public static final int DEFAULT_BACK_EDGE_THRESHOLD = 10_000;
+  static final int MAX_ADDRESS = 1 << 22;
+
+  private static final int MAX_WORD_CELLS = 4096;
+  private static final int UNKNOWN = -1;
+  private static final int NONE = -2;
+
+  private static final byte COUNTING = 0;
+  private static final byte PROMOTED = 1;
+  private static final byte REJECTED = 2;
+
+  private final int invocationThreshold;
+  private final int backEdgeThreshold;
+  private final WordCompiler compiler;
+
+  private int[] invocations = new int[0];
+  private int[] backEdges = new int[0];
+  private byte[] states = new byte[0];
+  /** The code field of the word each backward branch belongs to, by branch address. */
+  private int[] owners = new int[0];
+  /** The code field of the promoted word each cell was compiled into, plus 1; 0 for none. */
+  private int[] compiledInto = new int[0];
+
+  public TieredExecution() {
+    this(DEFAULT_INVOCATION_THRESHOLD, DEFAULT_BACK_EDGE_THRESHOLD);
+  }
+
+  public TieredExecution(int invocationThreshold, int backEdgeThreshold) {
+    this(invocationThreshold, backEdgeThreshold, new WordCompiler());
+  }
+
+  public TieredExecution(int invocationThreshold, int backEdgeThreshold, WordCompiler compiler) {
+    if (invocationThreshold < 1 || backEdgeThreshold < 1) {
+      throw new IllegalArgumentException("Thresholds must be positive");
+    }
+    this.invocationThreshold = invocationThreshold;
+    this.backEdgeThreshold = backEdgeThreshold;
+    this.compiler = compiler;
+  }
+
+  @Override
+  public void entered(Machine machine, int codeAddress) {
+    if (!ensureCapacity(codeAddress)) {
+      return;
+    }
+    if (++invocations[codeAddress] >= invocationThreshold) {
+      promote(machine, codeAddress);
+    }
+  }
+
+  @Override
+  public void branchedBack(Machine machine, int branchAddress) {
+    if (!ensureCapacity(branchAddress)) {
+      return;
+    }
+    var owner = owners[branchAddress];
+    if (owner == UNKNOWN) {
+      owner = findCodeField(machine, branchAddress);
+      owners[branchAddress] = owner;
+    }
+    if (owner == NONE) {
+      return;
+    }
+    if (++backEdges[owner] >= backEdgeThreshold) {
+      promote(machine, owner);
+    }
+  }
+
+  @Override
+  public void invalidated(Machine machine, DictionaryItem item) {
+    deoptimize(machine, item.getAddress() + 1);
+  }
+
+  @Override
+  public void written(Machine machine, int address) {
+    if (address >= 0 && address < compiledInto.length && compiledInto[address] != 0) {
+      deoptimize(machine, compiledInto[address] - 1);
+    }
+  }
+
+  /** Puts the threaded code of the word whose code field is at {@code codeAddress} back. */
+  public void deoptimize(Machine machine, int codeAddress) {
+    if (codeAddress < 0 || codeAddress >= states.length) {
+      return;
+    }
+    if (states[codeAddress] == PROMOTED) {
+      if (machine.getMemoryAt(codeAddress) instanceof CompiledWord compiled) {
+        Arrays.fill(compiledInto, codeAddress + 1, compiled.getEnd(), 0);
+      }
+      WordCompiler.uninstall(machine, codeAddress);
+    }
+    states[codeAddress] = COUNTING;
+    invocations[codeAddress] = 0;
+    backEdges[codeAddress] = 0;
+  }
+
+  public int getInvocationCount(DictionaryItem item) {
+    var codeAddress = item.getAddress() + 1;
+    return codeAddress >= 0 && codeAddress < invocations.length ? invocations[codeAddress] : 0;
+  }
+
+  public int getBackEdgeCount(DictionaryItem item) {
+    var codeAddress = item.getAddress() + 1;
+    return codeAddress >= 0 && codeAddress < backEdges.length ? backEdges[codeAddress] : 0;
+  }
+
+  public boolean isPromoted(DictionaryItem item) {
+    var codeAddress = item.getAddress() + 1;
+    return codeAddress >= 0 && codeAddress < states.length && states[codeAddress] == PROMOTED;
+  }
+
+  //////////////////////////////////////////////////////////////////////////////
+
+  private void promote(Machine machine, int codeAddress) {
+    if (states[codeAddress] != COUNTING) {
+      return;
+    }
+    var event = new WordPromotionEvent();
+    event.begin();
+    try {
+      var compiled = compiler.compile(machine, codeAddress);
+      if (!ensureCapacity(compiled.getEnd())) {
+        throw new MachineException("Word at %d is too far up to track".formatted(codeAddress));
+      }
+      machine.setMemoryAt(codeAddress, compiled);
+      Arrays.fill(compiledInto, codeAddress + 1, compiled.getEnd(), codeAddress + 1);
+      states[codeAddress] = PROMOTED;
+    } catch (MachineException | IllegalStateException ex) {
+      // Not a colon definition or too large for a method: stay interpreted.
+      states[codeAddress] = REJECTED;
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      var item = machine.peekDictionaryItem(codeAddress - 1);
+      event.machine = machine.getId();
+      event.word = item == null ? null : item.getName();
+      event.codeAddress = codeAddress;
+      event.promoted = states[codeAddress] == PROMOTED;
+      event.commit();
+    }
+  }
+
+  /** Walks back from a branch to the DOCOL cell of the definition it's in. */
+  private static int findCodeField(Machine machine, int address) {
+    var limit = Math.max(0, address - MAX_WORD_CELLS);
+    for (var a = address - 1; a >= limit; a--) {
+      var cell = machine.getMemoryAt(a);
+      if (cell == PrimitiveFactory.DOCOL() || cell instanceof CompiledWord) {
+        return a;
+      }
+    }
+    return NONE;
+  }
+
+  private boolean ensureCapacity(int address) {
+    if (address < 0 || address >= MAX_ADDRESS) {
+      return false;
+    }
+    if (address >= states.length) {
+      var length = Math.max(64, states.length);
+      while (length <= address) {
+        length <<= 1;
+      }
+      invocations = Arrays.copyOf(invocations, length);
+      backEdges = Arrays.copyOf(backEdges, length);
+      states = Arrays.copyOf(states, length);
+      var oldLength = owners.length;
+      owners = Arrays.copyOf(owners, length);
+      Arrays.fill(owners, oldLength, length, UNKNOWN);
+      compiledInto = Arrays.copyOf(compiledInto, length);
+    }
+    return true;
+  }
+}
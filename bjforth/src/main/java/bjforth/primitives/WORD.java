@@ -18,7 +18,12 @@
  */
 package bjforth.primitives;
 
+import bjforth.machine.InputSource;
 import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import bjforth.machine.OutputSink;
+import bjforth.machine.events.InputReadEvent;
+import java.io.IOException;
 
 class WORD implements Primitive {
 
@@ -31,37 +36,82 @@ class WORD implements Primitive {
 
   @Override
   public void execute(Machine machine) {
+    var word = readWord(machine);
+    if (word == null) {
+      return;
+    }
+    if (word.isEmpty()) {
+      throw new MachineException("End of stream");
+    }
+    machine.pushToParameterStack(word);
+  }
+
+  /**
+   * Reads the next word from the machine's input source: blanks and {@code \} comments are skipped
+   * and the word ends at the next blank. A blank is any character up to and including space, so
+   * tabs, carriage returns and newlines separate words as well as spaces do. A word cut short by
+   * the end of the input is returned as it is.
+   *
+   * @return the word; "" if the input ended before a word started; null if the machine has been
+   *     told to wait for input, in which case the characters read are read again next time.
+   */
+  static String readWord(Machine machine) {
     var state = State.BEGIN;
-    var keyWord = PrimitiveFactory.KEY();
+    var source = machine.getInputSource();
+    var blocking = machine.isInputBlocking();
     var result = new StringBuilder();
-    while (state != State.END) {
-      keyWord.execute(machine);
-      var ch = (int) machine.popFromParameterStack();
-      switch (state) {
-        case BEGIN:
-          if (ch == '\\') {
-            state = State.IN_COMMENT;
-          } else if (ch != ' ' && ch != '\n') {
-            result.appendCodePoint(ch);
-            state = State.IN_WORD;
-          }
-          break;
-        case IN_COMMENT:
-          if (ch == '\n') {
-            state = State.BEGIN;
-          }
-          break;
-        case IN_WORD:
-          if (ch == ' ') {
-            state = State.END;
-          } else {
-            result.appendCodePoint(ch);
-          }
-          break;
-        default:
+    var event = new InputReadEvent();
+    event.begin();
+    source.mark();
+    try {
+      machine.getOutputSink().flushOn(OutputSink.FlushPolicy.KEY);
+      while (state != State.END) {
+        var ch = source.read(blocking);
+        if (ch == InputSource.NOT_READY) {
+          // WORD is executed again once there's input: it has to see the same characters.
+          source.reset();
+          machine.awaitInput();
+          return null;
+        }
+        if (ch == InputSource.END_OF_INPUT) {
           break;
+        }
+        switch (state) {
+          case BEGIN:
+            if (ch == '\\') {
+              state = State.IN_COMMENT;
+            } else if (ch > ' ') {
+              result.append((char) ch);
+              state = State.IN_WORD;
+            }
+            break;
+          case IN_COMMENT:
+            if (ch == '\n') {
+              state = State.BEGIN;
+            }
+            break;
+          case IN_WORD:
+            if (ch <= ' ') {
+              state = State.END;
+            } else {
+              result.append((char) ch);
+            }
+            break;
+          default:
+            break;
+        }
       }
+    } catch (IOException e) {
+      throw new MachineException(e);
+    } finally {
+      source.unmark();
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      event.machine = machine.getId();
+      event.primitive = "WORD";
+      event.commit();
     }
-    machine.pushToParameterStack(result.toString());
+    return result.toString();
   }
 }
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.primitives.lib.ClassFileWriter.Code.*;
+
+import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import bjforth.machine.NativeSubroutine;
+import bjforth.primitives.lib.ClassFileWriter;
+import bjforth.primitives.lib.ClassFileWriter.Label;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles colon definitions into JVM bytecode.
+ *
+ * <p>The threaded code starting after the DOCOL cell is translated, up to the EXIT which ends it,
+ * into a hidden class extending {@link CompiledWord}: primitives are invoked directly, literals
+ * are pushed from a constant table and BRANCH/ZBRANCH become real jumps, which lets HotSpot inline
+ * and optimise across the whole word.
+ *
+ * <p>Whatever the compiler doesn't understand - a cell which isn't a primitive, a branch out of
+ * the definition, a primitive from outside bjForth which moves NIP or one which halts the machine -
+ * is handled by setting the registers to the cell in question and returning, so that the
+ * interpreter carries on from there on the untouched threaded code. For the same reason, when a
+ * primitive throws, IP and NIP are left pointing to the cell which threw.
+ *
+ * <p>The compiled code is a snapshot of the threaded code: {@link TieredExecution} throws it away
+ * when any of the cells it was compiled from is written to.
+ *
+ * <p>Each time a loop goes round, the compiled code counts the cells the interpreter would have
+ * executed with {@link Machine#countBackEdge(int)}, and hands over to the interpreter at the
+ * branch target when told to. That way a compiled loop can't outrun the slice the machine is given
+ * nor hide from a profiler or trace.
+ */
+public class WordCompiler {
+
+  private static final int MAX_CELLS = 4096;
+
+  private static final String MACHINE = "bjforth/machine/Machine";
+  private static final String NATIVE_SUBROUTINE = "bjforth/machine/NativeSubroutine";
+  private static final String PRIMITIVE = "bjforth/primitives/Primitive";
+  private static final String COMPILED_WORD = "bjforth/primitives/CompiledWord";
+  private static final String SUPPORT = "bjforth/primitives/CompiledWordSupport";
+  private static final String GENERATED = "bjforth/primitives/CompiledWord$Generated";
+
+  private static final int THIS = 0;
+  private static final int MACHINE_ARG = 1;
+  private static final int PC = 2;
+  private static final int EXCEPTION = 3;
+
+  private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+  /**
+   * Compiles the colon definition whose code field is at {@code address}.
+   *
+   * @throws MachineException if the cell doesn't hold DOCOL (or a compiled word)
+   */
+  public CompiledWord compile(Machine machine, int address) {
+    var codeField = machine.getMemoryAt(address);
+    if (codeField instanceof CompiledWord compiled) {
+      codeField = compiled.getOriginal();
+    }
+    if (codeField != PrimitiveFactory.DOCOL()) {
+      throw new MachineException("Not a colon definition at %d".formatted(address));
+    }
+    var instructions = decode(machine, address + 1);
+    var last = instructions.get(instructions.size() - 1);
+    var end = last.kind() == Kind.RESUME ? last.address() : last.address() + 1;
+    return define(address, end, (NativeSubroutine) codeField, instructions);
+  }
+
+  /** Compiles the colon definition at {@code address} and puts it in place of DOCOL. */
+  public CompiledWord install(Machine machine, int address) {
+    var compiled = compile(machine, address);
+    machine.setMemoryAt(address, compiled);
+    return compiled;
+  }
+
+  /** Puts DOCOL back in place of a compiled word. */
+  public static void uninstall(Machine machine, int address) {
+    if (machine.getMemoryAt(address) instanceof CompiledWord compiled) {
+      machine.setMemoryAt(address, compiled.getOriginal());
+    }
+  }
+
+  //////////////////////////////////////////////////////////////////////////////
+
+  private enum Kind {
+    LIT,
+    BRANCH,
+    ZBRANCH,
+    EXIT,
+    /** A bjForth primitive which doesn't look at the registers. */
+    PLAIN,
+    /** A primitive which needs the registers in sync. */
+    SYNCED,
+    /** Hand over to the interpreter. */
+    RESUME
+  }
+
+  private record Instruction(int address, Kind kind, Primitive primitive, Object operand) {}
+
+  private static List<Instruction> decode(Machine machine, int from) {
+    var instructions = new ArrayList<Instruction>();
+    var address = from;
+    var furthestTarget = from;
+    while (instructions.size() < MAX_CELLS) {
+      var cell = machine.getMemoryAt(address);
+      if (!(cell instanceof Primitive primitive)) {
+        break;
+      }
+      if (primitive instanceof FusedPrimitive fused) {
+        primitive = fused.first();
+      }
+      if (primitive == PrimitiveFactory.INTERPRET()) {
+        // What is executed next is only known once INTERPRET has read the input.
+        break;
+      }
+      if (primitive == PrimitiveFactory.LIT()) {
+        instructions.add(
+            new Instruction(address, Kind.LIT, primitive, machine.getMemoryAt(address + 1)));
+        address += 2;
+      } else if (primitive == PrimitiveFactory.LITSTRING()) {
+        if (!(machine.getMemoryAt(address + 1) instanceof String)) {
+          break;
+        }
+        instructions.add(new Instruction(address, Kind.LIT, primitive, address + 1));
+        address += 2;
+      } else if (primitive == PrimitiveFactory.BRANCH()
+          || primitive == PrimitiveFactory.ZBRANCH()) {
+        if (!(machine.getMemoryAt(address + 1) instanceof Integer offset)) {
+          break;
+        }
+        var target = address + 1 + offset;
+        var kind = primitive == PrimitiveFactory.BRANCH() ? Kind.BRANCH : Kind.ZBRANCH;
+        instructions.add(new Instruction(address, kind, primitive, target));
+        furthestTarget = Math.max(furthestTarget, target);
+        address += 2;
+      } else if (primitive == PrimitiveFactory.EXIT()) {
+        instructions.add(new Instruction(address, Kind.EXIT, primitive, null));
+        address += 1;
+        if (furthestTarget < address) {
+          return instructions;
+        }
+      } else {
+        instructions.add(new Instruction(address, kindOf(primitive), primitive, null));
+        address += 1;
+      }
+    }
+    instructions.add(new Instruction(address, Kind.RESUME, null, null));
+    return instructions;
+  }
+
+  private static Kind kindOf(Primitive primitive) {
+    var opcode = PrimitiveFactory.opcodeOf(primitive);
+    if (opcode == null) {
+      return Kind.SYNCED;
+    }
+    return switch (opcode) {
+      case DOCOL, BYE, HALT, KEY, WORD, COLON -> Kind.SYNCED;
+      default -> Kind.PLAIN;
+    };
+  }
+
+  private static CompiledWord define(
+      int address, int end, NativeSubroutine original, List<Instruction> instructions) {
+    var primitives = new ArrayList<Primitive>();
+    var constants = new ArrayList<Object>();
+    var bytes = generate(address, instructions, primitives, constants);
+    try {
+      var generated = lookup.defineHiddenClass(bytes, true).lookupClass();
+      var constructor =
+          lookup.findConstructor(
+              generated,
+              MethodType.methodType(
+                  void.class,
+                  int.class,
+                  int.class,
+                  NativeSubroutine.class,
+                  Primitive[].class,
+                  Object[].class));
+      return (CompiledWord)
+          constructor.invoke(
+              address,
+              end,
+              original,
+              primitives.toArray(Primitive[]::new),
+              constants.toArray(Object[]::new));
+    } catch (Throwable t) {
+      throw new MachineException(t);
+    }
+  }
+
+  private static byte[] generate(
+      int address,
+      List<Instruction> instructions,
+      List<Primitive> primitives,
+      List<Object> constants) {
+    var cf = new ClassFileWriter();
+    var constructorDescriptor =
+        "(IIL" + NATIVE_SUBROUTINE + ";[L" + PRIMITIVE + ";[Ljava/lang/Object;)V";
+
+    var init = cf.method(ClassFileWriter.ACC_PUBLIC, "<init>", constructorDescriptor);
+    init.local(ALOAD, THIS)
+        .local(ILOAD, 1)
+        .local(ILOAD, 2)
+        .local(ALOAD, 3)
+        .local(ALOAD, 4)
+        .local(ALOAD, 5)
+        .member(INVOKESPECIAL, cf.methodRef(COMPILED_WORD, "<init>", constructorDescriptor))
+        .op(RETURN)
+        .end(6, 6);
+
+    var machineDescriptor = "(L" + MACHINE + ";)V";
+    var primitivesField = cf.fieldRef(COMPILED_WORD, "primitives", "[L" + PRIMITIVE + ";");
+    var constantsField = cf.fieldRef(COMPILED_WORD, "constants", "[Ljava/lang/Object;");
+    var execute = cf.interfaceMethodRef(PRIMITIVE, "execute", machineDescriptor);
+    var callNative = cf.interfaceMethodRef(NATIVE_SUBROUTINE, "call", machineDescriptor);
+    var push = cf.methodRef(MACHINE, "pushToParameterStack", "(Ljava/lang/Object;)V");
+    var docol = cf.methodRef(SUPPORT, "docol", machineDescriptor);
+    var zbranch = cf.methodRef(SUPPORT, "zbranch", "(L" + MACHINE + ";)Z");
+    var resume = cf.methodRef(SUPPORT, "resume", "(L" + MACHINE + ";I)V");
+    var proceeds = cf.methodRef(SUPPORT, "proceeds", "(L" + MACHINE + ";I)Z");
+    var countBackEdge = cf.methodRef(MACHINE, "countBackEdge", "(I)Z");
+
+    var code = cf.method(ClassFileWriter.ACC_PUBLIC, "call", machineDescriptor);
+    Map<Integer, Label> labels = new HashMap<>();
+    for (var instruction : instructions) {
+      labels.put(instruction.address(), code.newLabel());
+    }
+    Map<Integer, Label> outsideTargets = new HashMap<>();
+
+    code.iconst(address).local(ISTORE, PC);
+    var tryStart = code.position();
+    code.local(ALOAD, MACHINE_ARG).member(INVOKESTATIC, docol);
+
+    for (var instruction : instructions) {
+      var at = instruction.address();
+      code.mark(labels.get(at));
+      if (instruction.kind() != Kind.RESUME) {
+        code.iconst(at).local(ISTORE, PC);
+      }
+      switch (instruction.kind()) {
+        case LIT -> {
+          constants.add(instruction.operand());
+          code.local(ALOAD, MACHINE_ARG)
+              .local(ALOAD, THIS)
+              .member(GETFIELD, constantsField)
+              .iconst(constants.size() - 1)
+              .op(AALOAD)
+              .member(INVOKEVIRTUAL, push);
+        }
+        case BRANCH -> {
+          var target = (int) instruction.operand();
+          if (isBackEdge(labels, at, target)) {
+            var cells = loopCells(instructions, target, at);
+            backEdge(code, countBackEdge, resume, cells, target, labels);
+          } else {
+            code.jump(GOTO, target(code, labels, outsideTargets, target));
+          }
+        }
+        case ZBRANCH -> {
+          var target = (int) instruction.operand();
+          code.local(ALOAD, MACHINE_ARG).member(INVOKESTATIC, zbranch);
+          if (isBackEdge(labels, at, target)) {
+            var next = code.newLabel();
+            var cells = loopCells(instructions, target, at);
+            code.jump(IFEQ, next);
+            backEdge(code, countBackEdge, resume, cells, target, labels);
+            code.mark(next);
+          } else {
+            code.jump(IFNE, target(code, labels, outsideTargets, target));
+          }
+        }
+        case EXIT -> {
+          loadPrimitive(code, primitivesField, primitives, instruction.primitive());
+          code.local(ALOAD, MACHINE_ARG).invokeInterface(callNative, 1).op(RETURN);
+        }
+        case PLAIN -> {
+          loadPrimitive(code, primitivesField, primitives, instruction.primitive());
+          code.local(ALOAD, MACHINE_ARG).invokeInterface(execute, 1);
+        }
+        case SYNCED -> {
+          var next = code.newLabel();
+          // Sync the registers as if the interpreter were executing this cell.
+          code.local(ALOAD, MACHINE_ARG).iconst(at).member(INVOKESTATIC, resume);
+          loadPrimitive(code, primitivesField, primitives, instruction.primitive());
+          code.local(ALOAD, MACHINE_ARG)
+              .invokeInterface(execute, 1)
+              .local(ALOAD, MACHINE_ARG)
+              .iconst(at + 1)
+              .member(INVOKESTATIC, proceeds)
+              .jump(IFNE, next)
+              .op(RETURN)
+              .mark(next);
+        }
+        case RESUME -> {
+          code.local(ALOAD, MACHINE_ARG).iconst(at).member(INVOKESTATIC, resume).op(RETURN);
+        }
+      }
+    }
+    for (var outsideTarget : outsideTargets.entrySet()) {
+      code.mark(outsideTarget.getValue())
+          .local(ALOAD, MACHINE_ARG)
+          .iconst(outsideTarget.getKey())
+          .member(INVOKESTATIC, resume)
+          .op(RETURN);
+    }
+    var tryEnd = code.position();
+
+    // The registers are left pointing to the cell which threw before rethrowing.
+    var handler = code.position();
+    code.local(ASTORE, EXCEPTION)
+        .local(ALOAD, MACHINE_ARG)
+        .local(ILOAD, PC)
+        .member(INVOKESTATIC, resume)
+        .local(ALOAD, EXCEPTION)
+        .op(ATHROW)
+        .tryCatch(tryStart, tryEnd, handler);
+    try {
+      code.end(4, 4);
+    } catch (IllegalStateException ex) {
+      throw new MachineException("Word at %d is too large to compile".formatted(address));
+    }
+
+    return cf.toByteArray(
+        ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER, GENERATED, COMPILED_WORD);
+  }
+
+  private static boolean isBackEdge(Map<Integer, Label> labels, int at, int target) {
+    return target <= at && labels.containsKey(target);
+  }
+
+  /** How many cells the interpreter executes going round the loop from {@code target} once. */
+  private static int loopCells(List<Instruction> instructions, int target, int at) {
+    var cells = 0;
+    for (var instruction : instructions) {
+      if (instruction.address() >= target && instruction.address() <= at) {
+        cells++;
+      }
+    }
+    return cells;
+  }
+
+  /** Jumps back to {@code target} if the machine lets the loop go round again, or hands over. */
+  private static void backEdge(
+      ClassFileWriter.Code code,
+      int countBackEdge,
+      int resume,
+      int cells,
+      int target,
+      Map<Integer, Label> labels) {
+    code.local(ALOAD, MACHINE_ARG)
+        .iconst(cells)
+        .member(INVOKEVIRTUAL, countBackEdge)
+        .jump(IFNE, labels.get(target))
+        .local(ALOAD, MACHINE_ARG)
+        .iconst(target)
+        .member(INVOKESTATIC, resume)
+        .op(RETURN);
+  }
+
+  private static Label target(
+      ClassFileWriter.Code code,
+      Map<Integer, Label> labels,
+      Map<Integer, Label> outsideTargets,
+      int target) {
+    var label = labels.get(target);
+    return label != null ? label : outsideTargets.computeIfAbsent(target, _t -> code.newLabel());
+  }
+
+  private static void loadPrimitive(
+      ClassFileWriter.Code code, int primitivesField, List<Primitive> primitives, Primitive p) {
+    primitives.add(p);
+    code.local(ALOAD, THIS)
+        .member(GETFIELD, primitivesField)
+        .iconst(primitives.size() - 1)
+        .op(AALOAD);
+  }
+}
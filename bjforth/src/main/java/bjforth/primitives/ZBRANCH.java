@@ -33,6 +33,9 @@ public class ZBRANCH implements Primitive {
           var NIPValue = (Integer) machine.getMemoryAt(NIP);
           var newNIP = NIP + NIPValue;
           machine.setNextInstructionPointer(newNIP);
+          if (NIPValue < 0 && machine.getTieringHook() != null) {
+            machine.getTieringHook().branchedBack(machine, machine.getInstrcutionPointer());
+          }
         } else {
           machine.setNextInstructionPointer(machine.getNextInstructionPointer() + 1);
         }
@@ -27,7 +27,12 @@ import java.math.BigInteger;
 public abstract class AbstractBinaryNumberFunction<R> {
 
   public R apply(Object value1, Object value2) {
-    if (isNull(value1)) {
+    // Nearly everything on the stack is an Integer: check for it before anything else.
+    if (value1 instanceof Integer i1 && value2 instanceof Integer i2) {
+      return apply(i1, i2);
+    } else if (value1 instanceof Long l1 && value2 instanceof Long l2) {
+      return apply(l1, l2);
+    } else if (isNull(value1)) {
       throw new MachineException("ParameterStack top is NULL.");
     } else if (isNull(value2)) {
       throw new MachineException("ParameterStack second top is NULL.");
@@ -47,6 +52,9 @@ public abstract class AbstractBinaryNumberFunction<R> {
       return apply(value1.doubleValue(), value2.doubleValue());
     } else if (value1 instanceof Float || value2 instanceof Float) {
       return apply(value1.floatValue(), value2.floatValue());
+    } else if ((value1 instanceof BigInteger || value2 instanceof BigInteger)
+        && !(value1 instanceof BigDecimal || value2 instanceof BigDecimal)) {
+      return apply(toBigInteger(value1), toBigInteger(value2));
     } else if (value1 instanceof Long || value2 instanceof Long) {
       return apply(value1.longValue(), value2.longValue());
     } else if (value1 instanceof Integer || value2 instanceof Integer) {
@@ -60,6 +68,10 @@ public abstract class AbstractBinaryNumberFunction<R> {
     }
   }
 
+  private static BigInteger toBigInteger(Number value) {
+    return value instanceof BigInteger bi ? bi : BigInteger.valueOf(value.longValue());
+  }
+
   protected abstract R apply(BigDecimal value1, BigDecimal value2);
 
   protected abstract R apply(BigInteger value1, BigInteger value2);
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives.lib;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Just enough of a class file writer to emit the classes generated by the word compiler.
+ *
+ * <p>Classes are written in the Java 5 (49.0) format, which is verified by type inference and
+ * therefore doesn't need StackMapTable frames. Computing max_stack is left to the caller.
+ */
+public class ClassFileWriter {
+
+  public static final int ACC_PUBLIC = 0x0001;
+  public static final int ACC_FINAL = 0x0010;
+  public static final int ACC_SUPER = 0x0020;
+
+  private static final int VERSION_MAJOR = 49;
+
+  private static final int CONSTANT_UTF8 = 1;
+  private static final int CONSTANT_INTEGER = 3;
+  private static final int CONSTANT_CLASS = 7;
+  private static final int CONSTANT_FIELDREF = 9;
+  private static final int CONSTANT_METHODREF = 10;
+  private static final int CONSTANT_INTERFACE_METHODREF = 11;
+  private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+  private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+  private final DataOutputStream poolOut = new DataOutputStream(pool);
+  private final Map<String, Integer> poolIndex = new HashMap<>();
+  private int poolCount = 1;
+  private final List<byte[]> methods = new ArrayList<>();
+
+  public int utf8(String value) {
+    return constant(
+        "U" + value,
+        out -> {
+          out.writeByte(CONSTANT_UTF8);
+          out.writeUTF(value);
+        });
+  }
+
+  public int integer(int value) {
+    return constant(
+        "I" + value,
+        out -> {
+          out.writeByte(CONSTANT_INTEGER);
+          out.writeInt(value);
+        });
+  }
+
+  public int classRef(String internalName) {
+    var name = utf8(internalName);
+    return constant(
+        "C" + internalName,
+        out -> {
+          out.writeByte(CONSTANT_CLASS);
+          out.writeShort(name);
+        });
+  }
+
+  public int fieldRef(String owner, String name, String descriptor) {
+    return memberRef(CONSTANT_FIELDREF, owner, name, descriptor);
+  }
+
+  public int methodRef(String owner, String name, String descriptor) {
+    return memberRef(CONSTANT_METHODREF, owner, name, descriptor);
+  }
+
+  public int interfaceMethodRef(String owner, String name, String descriptor) {
+    return memberRef(CONSTANT_INTERFACE_METHODREF, owner, name, descriptor);
+  }
+
+  public Code method(int access, String name, String descriptor) {
+    return new Code(access, name, descriptor);
+  }
+
+  public byte[] toByteArray(int access, String thisClass, String superClass, String... interfaces) {
+    var thisIndex = classRef(thisClass);
+    var superIndex = classRef(superClass);
+    var interfaceIndices = new int[interfaces.length];
+    for (int i = 0; i < interfaces.length; i++) {
+      interfaceIndices[i] = classRef(interfaces[i]);
+    }
+    return write(
+        out -> {
+          out.writeInt(0xCAFEBABE);
+          out.writeShort(0);
+          out.writeShort(VERSION_MAJOR);
+          out.writeShort(poolCount);
+          pool.writeTo(out);
+          out.writeShort(access);
+          out.writeShort(thisIndex);
+          out.writeShort(superIndex);
+          out.writeShort(interfaceIndices.length);
+          for (var index : interfaceIndices) {
+            out.writeShort(index);
+          }
+          out.writeShort(0); // fields
+          out.writeShort(methods.size());
+          for (var method : methods) {
+            out.write(method);
+          }
+          out.writeShort(0); // attributes
+        });
+  }
+
+  private int memberRef(int tag, String owner, String name, String descriptor) {
+    var ownerIndex = classRef(owner);
+    var nameIndex = utf8(name);
+    var descriptorIndex = utf8(descriptor);
+    var nameAndType =
+        constant(
+            "N" + name + ":" + descriptor,
+            out -> {
+              out.writeByte(CONSTANT_NAME_AND_TYPE);
+              out.writeShort(nameIndex);
+              out.writeShort(descriptorIndex);
+            });
+    return constant(
+        tag + owner + "." + name + ":" + descriptor,
+        out -> {
+          out.writeByte(tag);
+          out.writeShort(ownerIndex);
+          out.writeShort(nameAndType);
+        });
+  }
+
+  private int constant(String key, Writer writer) {
+    var index = poolIndex.get(key);
+    if (index == null) {
+      try {
+        writer.write(poolOut);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      index = poolCount++;
+      poolIndex.put(key, index);
+    }
+    return index;
+  }
+
+  private static byte[] write(Writer writer) {
+    var bytes = new ByteArrayOutputStream();
+    try {
+      writer.write(new DataOutputStream(bytes));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private interface Writer {
+    void write(DataOutputStream out) throws IOException;
+  }
+
+  /** A branch target inside a method. */
+  public static class Label {
+    private int position = -1;
+    private final List<Integer> fixups = new ArrayList<>();
+  }
+
+  /** The bytecode of a single method. */
+  public class Code {
+
+    public static final int ICONST_0 = 0x03;
+    public static final int BIPUSH = 0x10;
+    public static final int SIPUSH = 0x11;
+    public static final int LDC_W = 0x13;
+    public static final int ILOAD = 0x15;
+    public static final int ALOAD = 0x19;
+    public static final int AALOAD = 0x32;
+    public static final int ISTORE = 0x36;
+    public static final int ASTORE = 0x3a;
+    public static final int IFEQ = 0x99;
+    public static final int IFNE = 0x9a;
+    public static final int GOTO = 0xa7;
+    public static final int RETURN = 0xb1;
+    public static final int GETFIELD = 0xb4;
+    public static final int INVOKEVIRTUAL = 0xb6;
+    public static final int INVOKESPECIAL = 0xb7;
+    public static final int INVOKESTATIC = 0xb8;
+    public static final int INVOKEINTERFACE = 0xb9;
+    public static final int ATHROW = 0xbf;
+
+    private final int access;
+    private final int name;
+    private final int descriptor;
+    private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+    private final List<int[]> exceptionTable = new ArrayList<>();
+    private final List<Label> labels = new ArrayList<>();
+
+    private Code(int access, String name, String descriptor) {
+      this.access = access;
+      this.name = utf8(name);
+      this.descriptor = utf8(descriptor);
+    }
+
+    public int position() {
+      return code.size();
+    }
+
+    public Code op(int opcode) {
+      code.write(opcode);
+      return this;
+    }
+
+    /** Loads or stores a local variable with ILOAD, ALOAD, ISTORE or ASTORE. */
+    public Code local(int opcode, int index) {
+      code.write(opcode);
+      code.write(index);
+      return this;
+    }
+
+    public Code iconst(int value) {
+      if (value >= -1 && value <= 5) {
+        code.write(ICONST_0 + value);
+      } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+        code.write(BIPUSH);
+        code.write(value);
+      } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+        code.write(SIPUSH);
+        u2(value);
+      } else {
+        code.write(LDC_W);
+        u2(integer(value));
+      }
+      return this;
+    }
+
+    /** GETFIELD, INVOKEVIRTUAL, INVOKESPECIAL and INVOKESTATIC. */
+    public Code member(int opcode, int constantIndex) {
+      code.write(opcode);
+      u2(constantIndex);
+      return this;
+    }
+
+    public Code invokeInterface(int constantIndex, int argumentSlots) {
+      code.write(INVOKEINTERFACE);
+      u2(constantIndex);
+      code.write(argumentSlots + 1);
+      code.write(0);
+      return this;
+    }
+
+    /** IFEQ, IFNE and GOTO. */
+    public Code jump(int opcode, Label label) {
+      var at = code.size();
+      code.write(opcode);
+      if (label.position >= 0) {
+        u2(label.position - at);
+      } else {
+        label.fixups.add(at);
+        u2(0);
+      }
+      return this;
+    }
+
+    public Code mark(Label label) {
+      label.position = code.size();
+      return this;
+    }
+
+    public Code tryCatch(int start, int end, int handler) {
+      exceptionTable.add(new int[] {start, end, handler});
+      return this;
+    }
+
+    public void end(int maxStack, int maxLocals) {
+      var bytes = code.toByteArray();
+      for (var label : labels) {
+        for (var at : label.fixups) {
+          var offset = label.position - at;
+          bytes[at + 1] = (byte) (offset >> 8);
+          bytes[at + 2] = (byte) offset;
+        }
+      }
+      if (bytes.length >= Short.MAX_VALUE) {
+        throw new IllegalStateException("Method too large");
+      }
+      var codeAttributeName = utf8("Code");
+      methods.add(
+          write(
+              out -> {
+                out.writeShort(access);
+                out.writeShort(name);
+                out.writeShort(descriptor);
+                out.writeShort(1);
+                out.writeShort(codeAttributeName);
+                out.writeInt(12 + bytes.length + 8 * exceptionTable.size());
+                out.writeShort(maxStack);
+                out.writeShort(maxLocals);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                out.writeShort(exceptionTable.size());
+                for (var entry : exceptionTable) {
+                  out.writeShort(entry[0]);
+                  out.writeShort(entry[1]);
+                  out.writeShort(entry[2]);
+                  out.writeShort(0); // any exception
+                }
+                out.writeShort(0); // attributes
+              }));
+    }
+
+    public Label newLabel() {
+      var label = new Label();
+      labels.add(label);
+      return label;
+    }
+
+    private void u2(int value) {
+      code.write(value >> 8);
+      code.write(value);
+    }
+  }
+}
@@ -34,13 +34,7 @@ public class DictionaryBuilder {
   }
 
   public DictionaryBuilder with(MachineState state) {
-    state
-        .getDictionary()
-        .items
-        .forEach(
-            (name, items) -> {
-              items.forEach(item -> dictionary.put(name, item));
-            });
+    state.getDictionary().forEach(dictionary::put);
     return this;
   }
 
@@ -20,6 +20,7 @@ package bjforth.machine;
 
 public class MachineBuilder {
   private MachineState state;
+  private MachineContext context = new MachineContext();
 
   private MachineBuilder() {}
 
@@ -32,7 +33,12 @@ public class MachineBuilder {
     return this;
   }
 
+  public MachineBuilder withContext(MachineContext context) {
+    this.context = context;
+    return this;
+  }
+
   public Machine build() {
-    return new Machine(state);
+    return new Machine(state, context);
   }
 }
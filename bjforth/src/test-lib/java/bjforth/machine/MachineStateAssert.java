@@ -187,7 +187,7 @@ public class MachineStateAssert extends AbstractAssert<MachineStateAssert, Machi
   public MachineStateAssert hasInstructionPointerEqualTo(MachineState other) {
     var actualIp = actual.getInstructionPointer();
     var otherIp = other.getInstructionPointer();
-    if (!actualIp.equals(otherIp)) {
+    if (actualIp != otherIp) {
       failWithMessage("Expected instructionPointer to be <%s> but was <%s>", otherIp, actualIp);
     }
     return this;
@@ -201,7 +201,7 @@ public class MachineStateAssert extends AbstractAssert<MachineStateAssert, Machi
   public MachineStateAssert hasNextInstructionPointerEqualTo(MachineState other) {
     var actualNip = actual.getNextInstructionPointer();
     var otherNip = other.getNextInstructionPointer();
-    if (!actualNip.equals(otherNip)) {
+    if (actualNip != otherNip) {
       failWithMessage(
           "Expected nextInstructionPointer to be <%s> but was <%s>", otherNip, actualNip);
     }
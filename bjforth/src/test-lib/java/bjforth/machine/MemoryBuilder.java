@@ -20,6 +20,7 @@ package bjforth.machine;
 
 import static bjforth.machine.MachineStateInspectionUtils.memoryAddresses;
 
+import java.util.List;
 import java.util.Map;
 
 public class MemoryBuilder {
@@ -46,6 +47,13 @@ public class MemoryBuilder {
     return this;
   }
 
+  public MemoryBuilder withCells(Integer from, List<?> objects) {
+    for (int i = 0; i < objects.size(); i++) {
+      memory.set(from + i, objects.get(i));
+    }
+    return this;
+  }
+
   public Memory build() {
     return memory;
   }
@@ -18,26 +18,13 @@
  */
 package bjforth.primitives;
 
-import java.lang.reflect.Field;
-import org.apache.commons.lang3.reflect.FieldUtils;
-
 public class PrimitiveFactoryModificationUtils {
 
-  public static void resetPrimitive(String name) {
-    try {
-      var containerObject =
-          FieldUtils.readStaticField(PrimitiveFactory.class, "container" + name, true);
-      FieldUtils.writeField(containerObject, "instance", null, true);
-    } catch (IllegalAccessException e) {
-      throw new RuntimeException(e);
-    }
+  public static void overridePrimitive(String name, Primitive replacement) {
+    PrimitiveFactory.override(name, replacement);
   }
 
   public static void resetAllPrimitives() {
-    FieldUtils.getAllFieldsList(PrimitiveFactory.class).stream()
-        .map(Field::getName)
-        .filter(name -> name.startsWith("container"))
-        .map(name -> name.replace("container", ""))
-        .forEach(PrimitiveFactoryModificationUtils::resetPrimitive);
+    PrimitiveFactory.resetOverrides();
   }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+
+import bjforth.machine.Machine;
+import bjforth.machine.MachineStateBuilder;
+import java.util.List;
+
+/** Colon definitions laid out in memory, for running the inner interpreter over. */
+public class WordFixtures {
+
+  /** The code field of the word under test. */
+  public static final int WORD = 100;
+
+  /** Where a call to {@link #WORD} returns to. */
+  public static final int RETURN_ADDR = 50;
+
+  /** {@code n -- 0}: counts {@code n} down to zero in a BRANCH/ZBRANCH loop. */
+  public static final List<Object> COUNTDOWN =
+      List.of(
+          PrimitiveFactory.DOCOL(), // 100
+          PrimitiveFactory.DUP(), // 101
+          PrimitiveFactory.ZBRANCH(), 6, // 102
+          PrimitiveFactory.LIT(), -1, // 104
+          PrimitiveFactory.ADD(), // 106
+          PrimitiveFactory.BRANCH(), -7, // 107
+          PrimitiveFactory.EXIT()); // 109
+
+  /**
+   * A machine state about to run {@code word}, from {@link #WORD}, which returns to {@link
+   * #RETURN_ADDR}.
+   */
+  public static MachineStateBuilder aStateCalling(List<Object> word, Object... parameters) {
+    return aMachineState()
+        .withInstrcutionPointer(WORD)
+        .withNextInstructionPointer(RETURN_ADDR)
+        .withMemory(aMemory().withCells(WORD, word).build())
+        .withParameterStack(aParameterStack().with(parameters).build());
+  }
+
+  /** Calls the word at {@link #WORD} and steps the machine until it returns. */
+  public static void call(Machine machine) {
+    machine.setNextInstructionPointer(RETURN_ADDR);
+    machine.jumpTo(WORD);
+    runUntil(machine, RETURN_ADDR);
+  }
+
+  /** Steps the machine until its instruction pointer is {@code address}. */
+  public static void runUntil(Machine machine, int address) {
+    while (machine.getInstrcutionPointer() != address) {
+      machine.step();
+    }
+  }
+}
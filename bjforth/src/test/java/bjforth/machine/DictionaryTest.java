@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DictionaryTest {
+
+  @Test
+  @DisplayName("should find the latest definition of a name and each definition by its address.")
+  void shadowing() {
+    // GIVEN
+    var dictionary = new Dictionary();
+
+    // WHEN
+    for (var i = 0; i < 1000; i++) {
+      var name = "w" + (i % 100);
+      dictionary.put(name, new DictionaryItem(name, i, false, false));
+    }
+
+    // THEN
+    assertThat(dictionary.find("w42").getAddress()).isEqualTo(942);
+    assertThat(dictionary.find(142).getAddress()).isEqualTo(142);
+    assertThat(dictionary.find("nope")).isNull();
+    assertThat(dictionary.find(1000)).isNull();
+    assertThat(dictionary.names()).hasSize(100);
+  }
+
+  @Test
+  @DisplayName("should not share definitions made after a copy.")
+  void copy() {
+    // GIVEN
+    var dictionary = new Dictionary();
+    dictionary.put("FOO", new DictionaryItem("FOO", 1, false, false));
+    var copy = new Dictionary(dictionary);
+
+    // WHEN
+    copy.put("FOO", new DictionaryItem("FOO", 2, false, false));
+
+    // THEN
+    assertThat(dictionary.find("FOO").getAddress()).isEqualTo(1);
+    assertThat(dictionary.find(2)).isNull();
+    assertThat(copy.find("FOO").getAddress()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("should look a base item up by address without copying it into the overlay.")
+  void peek() {
+    // GIVEN
+    var base = new Dictionary();
+    var item = new DictionaryItem("FOO", 1, false, false);
+    base.put("FOO", item);
+    var overlay = Dictionary.overlay(base);
+
+    // WHEN
+    var peeked = overlay.peek(1);
+
+    // THEN
+    assertThat(peeked).isSameAs(item);
+    assertThat(overlay.peek(2)).isNull();
+    assertThat(overlay.find("FOO")).isSameAs(item);
+    assertThat(overlay.find(1)).isNotSameAs(item);
+  }
+
+  @Test
+  @DisplayName("should count each name once, whether it's defined in the overlay or the base.")
+  void countWords() {
+    // GIVEN
+    var base = new Dictionary();
+    base.put("FOO", new DictionaryItem("FOO", 1, false, false));
+    base.put("BAR", new DictionaryItem("BAR", 2, false, true));
+    base.put("FOO", new DictionaryItem("FOO", 3, true, false));
+    var overlay = Dictionary.overlay(base);
+
+    // WHEN
+    overlay.find(2);
+    overlay.put("BAR", new DictionaryItem("BAR", 4, false, false));
+    overlay.put("BAZ", new DictionaryItem("BAZ", 5, false, true));
+
+    // THEN
+    assertThat(base.countWords()).isEqualTo(2);
+    assertThat(overlay.countWords()).isEqualTo(3);
+    assertThat(overlay.countFlags()).isEqualTo(new Dictionary.FlagCounts(1, 1));
+  }
+}
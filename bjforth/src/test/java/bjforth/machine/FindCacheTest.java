@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FindCacheTest {
+
+  @Test
+  @DisplayName("should answer repeated lookups from the cache and count hits and misses.")
+  void countsHits() {
+    // GIVEN
+    var machine = aMachine().withState(aMachineState().build()).build();
+    machine.createDictionaryItem("FOO", new DictionaryItem("FOO", 100, false, false));
+
+    // WHEN
+    var first = machine.findWord("FOO");
+    var second = machine.findWord(new String("FOO"));
+    var missing = machine.findWord("BAR");
+
+    // THEN
+    assertThat(first.address()).isEqualTo(100);
+    assertThat(second).isSameAs(first);
+    assertThat(missing.isFound()).isFalse();
+    assertThat(machine.getFindCache().getHits()).isEqualTo(1);
+    assertThat(machine.getFindCache().getMisses()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("should drop an entry once its name is redefined or its flags change.")
+  void invalidates() {
+    // GIVEN
+    var machine = aMachine().withState(aMachineState().build()).build();
+    var item = new DictionaryItem("FOO", 100, false, false);
+    machine.createDictionaryItem("FOO", item);
+    machine.findWord("FOO");
+
+    // WHEN
+    item.setIsImmediate(true);
+    machine.dictionaryItemChanged(item);
+    var changed = machine.findWord("FOO");
+    machine.createDictionaryItem("FOO", new DictionaryItem("FOO", 200, false, false));
+    var redefined = machine.findWord("FOO");
+
+    // THEN
+    assertThat(changed.isImmediate()).isTrue();
+    assertThat(redefined.address()).isEqualTo(200);
+    assertThat(machine.getFindCache().getHits()).isZero();
+  }
+}
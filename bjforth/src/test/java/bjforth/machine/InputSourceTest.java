@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InputSourceTest {
+
+  @TempDir Path dir;
+
+  /** Reads without blocking, again and again while the source isn't ready, for up to 5 s. */
+  private static int readWhenReady(InputSource source) throws Exception {
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    var ch = source.read(false);
+    while (ch == InputSource.NOT_READY && System.nanoTime() - deadline < 0) {
+      Thread.sleep(1);
+      ch = source.read(false);
+    }
+    return ch;
+  }
+
+  @Test
+  @DisplayName("should read every character of a source larger than its buffer, then end.")
+  void readsPastBuffer() throws IOException {
+    // GIVEN
+    var text = "0123456789".repeat(InputSource.BUFFER_SIZE / 4);
+    var source = InputSource.of(text);
+
+    // WHEN
+    var read = new StringBuilder();
+    for (var ch = source.read(true); ch != InputSource.END_OF_INPUT; ch = source.read(true)) {
+      read.append((char) ch);
+    }
+
+    // THEN
+    assertThat(read.toString()).isEqualTo(text);
+  }
+
+  @Test
+  @DisplayName("should keep the marked characters across a refill and read them again on reset.")
+  void resetsToMarkAcrossRefill() throws IOException {
+    // GIVEN
+    var text = "x".repeat(InputSource.BUFFER_SIZE - 2) + "abcdef";
+    var source = InputSource.of(text);
+    for (var i = 0; i < InputSource.BUFFER_SIZE - 2; i++) {
+      source.read(true);
+    }
+
+    // WHEN
+    source.mark();
+    var first = new StringBuilder();
+    for (var i = 0; i < 6; i++) {
+      first.append((char) source.read(true));
+    }
+    source.reset();
+    var second = new StringBuilder();
+    for (var i = 0; i < 6; i++) {
+      second.append((char) source.read(true));
+    }
+
+    // THEN
+    assertThat(first.toString()).isEqualTo("abcdef");
+    assertThat(second.toString()).isEqualTo("abcdef");
+    assertThat(source.read(true)).isEqualTo(InputSource.END_OF_INPUT);
+  }
+
+  @Test
+  @DisplayName("should report NOT_READY instead of blocking when asked not to block.")
+  void notReadyWhenNonBlocking() throws Exception {
+    // GIVEN
+    var input = new PipedOutputStream();
+    var source = InputSource.of(new PipedInputStream(input));
+
+    // EXPECT
+    assertThat(source.read(false)).isEqualTo(InputSource.NOT_READY);
+    input.write("a".getBytes());
+    assertThat(readWhenReady(source)).isEqualTo('a');
+  }
+
+  @Test
+  @DisplayName("should report the end of a stream when asked not to block.")
+  void endOfStreamWhenNonBlocking() throws Exception {
+    // GIVEN
+    var input = new PipedOutputStream();
+    var source = InputSource.of(new PipedInputStream(input));
+    input.write("ab".getBytes());
+    input.close();
+
+    // WHEN
+    var first = readWhenReady(source);
+    var second = readWhenReady(source);
+    var third = readWhenReady(source);
+
+    // THEN
+    assertThat(first).isEqualTo('a');
+    assertThat(second).isEqualTo('b');
+    assertThat(third).isEqualTo(InputSource.END_OF_INPUT);
+    assertThat(source.read(false)).isEqualTo(InputSource.END_OF_INPUT);
+  }
+
+  @Test
+  @DisplayName("should read a file to its end without ever reporting NOT_READY.")
+  void endOfFileWhenNonBlocking() throws IOException {
+    // GIVEN
+    var file = Files.writeString(dir.resolve("input.fs"), "a");
+    var source = InputSource.of(file);
+
+    // EXPECT
+    assertThat(source.read(false)).isEqualTo('a');
+    assertThat(source.read(false)).isEqualTo(InputSource.END_OF_INPUT);
+  }
+
+  @Test
+  @DisplayName("should decode a stream as UTF-8 unless given another charset.")
+  void decodesStreams() throws IOException {
+    // GIVEN
+    var utf8 = InputSource.of(new ByteArrayInputStream("é".getBytes(StandardCharsets.UTF_8)));
+    var latin1 =
+        InputSource.of(
+            new ByteArrayInputStream("é".getBytes(StandardCharsets.ISO_8859_1)),
+            StandardCharsets.ISO_8859_1);
+
+    // EXPECT
+    assertThat(utf8.read(true)).isEqualTo('é');
+    assertThat(utf8.read(true)).isEqualTo(InputSource.END_OF_INPUT);
+    assertThat(latin1.read(true)).isEqualTo('é');
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static bjforth.machine.DictionaryBuilder.aDictionary;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MachineImageTest {
+
+  private static final NativeSubroutine WRITE_AND_HALT =
+      machine -> {
+        machine.setMemoryAt(100, machine.getMemoryAt(100) == null ? 1 : 2);
+        machine.createDictionaryItem("BAR", new DictionaryItem("BAR", 300, false, false));
+        machine.findDictionaryItem(200).setIsHidden(true);
+        machine.halt(0);
+      };
+
+  private static Machine bootstrapped() {
+    var state =
+        aMachineState()
+            .withInstrcutionPointer(0)
+            .withNextInstructionPointer(1)
+            .withMemory(aMemory().with(0, WRITE_AND_HALT).build())
+            .withDictionary(
+                aDictionary().with("FOO", new DictionaryItem("FOO", 200, false, false)).build())
+            .build();
+    return aMachine().withState(state).build();
+  }
+
+  @Test
+  @DisplayName("machines started from an image should not see each other's changes.")
+  void isolatesMachines() throws Exception {
+    // GIVEN
+    var image = new MachineImage(bootstrapped());
+    var machines = new ArrayList<Machine>();
+    for (int i = 0; i < 3; i++) {
+      machines.add(image.newMachine(new MachineContext()));
+    }
+
+    // WHEN
+    var results = new ArrayList<Future<RunResult>>();
+    try (var runtime = new MachineRuntime(image)) {
+      for (var machine : machines) {
+        results.add(runtime.launch(machine));
+      }
+    }
+
+    // THEN
+    for (var i = 0; i < machines.size(); i++) {
+      var machine = machines.get(i);
+      assertThat(results.get(i).get().exitCode()).isZero();
+      assertThat(machine.getMemoryAt(100)).isEqualTo(1);
+      assertThat(machine.findDictionaryItem("FOO").getIsHidden()).isTrue();
+      assertThat(machine.findDictionaryItem("BAR").getAddress()).isEqualTo(300);
+    }
+    var fresh = image.newMachine(new MachineContext());
+    assertThat(fresh.getMemoryAt(100)).isNull();
+    assertThat(fresh.findDictionaryItem("FOO").getIsHidden()).isFalse();
+    assertThat(fresh.findDictionaryItem("BAR")).isNull();
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MachineMetricsTest {
+
+  @Test
+  @DisplayName("should expose the state of the machine over JMX while registered.")
+  void attributes() throws JMException {
+    // GIVEN
+    var state =
+        aMachineState()
+            .withInstrcutionPointer(100)
+            .withMemory(
+                aMemory()
+                    .with(0, 4096)
+                    .with(100, (NativeSubroutine) machine -> machine.jumpTo(101))
+                    .with(101, (NativeSubroutine) machine -> machine.jumpTo(102))
+                    .with(102, (NativeSubroutine) machine -> machine.jumpTo(103))
+                    .build())
+            .withParameterStack(aParameterStack().with(1, 2, 3).build())
+            .build();
+    var machine = aMachine().withState(state).build();
+    machine.createDictionaryItem("A", new DictionaryItem("A", 200, false, false));
+    machine.createDictionaryItem("B", new DictionaryItem("B", 210, true, false));
+    machine.createDictionaryItem("C", new DictionaryItem("C", 220, false, true));
+    machine.createDictionaryItem("A", new DictionaryItem("A", 230, true, true));
+    machine.step(3);
+    machine.popFromParameterStack();
+    var server = ManagementFactory.getPlatformMBeanServer();
+
+    // WHEN
+    var metrics = MachineMetrics.register(machine);
+    var name = metrics.getObjectName();
+
+    // THEN
+    try {
+      assertThat(server.isRegistered(name)).isTrue();
+      assertThat(server.getAttribute(name, "Steps")).isEqualTo(3L);
+      assertThat(server.getAttribute(name, "InstructionPointer")).isEqualTo(103);
+      assertThat(server.getAttribute(name, "ParameterStackDepth")).isEqualTo(2);
+      assertThat(server.getAttribute(name, "ParameterStackHighWaterMark")).isEqualTo(3);
+      assertThat(server.getAttribute(name, "Here")).isEqualTo(4096);
+      assertThat(server.getAttribute(name, "DictionarySize")).isEqualTo(3);
+      assertThat(server.getAttribute(name, "HiddenWords")).isEqualTo(2);
+      assertThat(server.getAttribute(name, "ImmediateWords")).isEqualTo(2);
+      assertThat(server.getAttribute(name, "Halted")).isEqualTo(false);
+    } finally {
+      metrics.close();
+    }
+    assertThat(server.isRegistered(name)).isFalse();
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MachineTest {
+
+  private static final NativeSubroutine SPIN = machine -> {};
+
+  private static Machine machineWith(NativeSubroutine cell) {
+    var state =
+        aMachineState()
+            .withInstrcutionPointer(0)
+            .withNextInstructionPointer(1)
+            .withMemory(aMemory().with(0, cell).build())
+            .build();
+    return aMachine().withState(state).build();
+  }
+
+  @Test
+  @DisplayName("runFor should stop after the given number of steps.")
+  void runForOutOfBudget() {
+    // GIVEN
+    var counter = new int[1];
+    var machine = machineWith(m -> counter[0]++);
+
+    // WHEN
+    var status = machine.runFor(1000);
+
+    // THEN
+    assertThat(status).isEqualTo(RunStatus.OUT_OF_BUDGET);
+    assertThat(counter[0]).isEqualTo(1000);
+  }
+
+  @Test
+  @DisplayName("runFor should stop as soon as the machine halts.")
+  void runForHalted() {
+    // GIVEN
+    var machine = machineWith(m -> m.halt(3));
+
+    // WHEN
+    var status = machine.runFor(1000);
+
+    // THEN
+    assertThat(status).isEqualTo(RunStatus.HALTED);
+    assertThat(machine.getExitCode()).isEqualTo(3);
+    assertThat(machine.runFor(1000)).isEqualTo(RunStatus.HALTED);
+  }
+
+  @Test
+  @DisplayName("runFor should stop when the machine waits for input, and carry on afterwards.")
+  void runForBlocked() {
+    // GIVEN
+    var inputAvailable = new boolean[] {false};
+    var received = new int[1];
+    var machine =
+        machineWith(
+            m -> {
+              if (m.isInputBlocking()) {
+                throw new AssertionError("Shouldn't block within a slice");
+              }
+              if (!inputAvailable[0]) {
+                m.awaitInput();
+              } else {
+                received[0]++;
+              }
+            });
+
+    // WHEN
+    var status = machine.runFor(1000);
+
+    // THEN
+    assertThat(status).isEqualTo(RunStatus.BLOCKED_ON_INPUT);
+    assertThat(machine.isInputBlocking()).isTrue();
+
+    // WHEN
+    inputAvailable[0] = true;
+    status = machine.runFor(10);
+
+    // THEN
+    assertThat(status).isEqualTo(RunStatus.OUT_OF_BUDGET);
+    assertThat(received[0]).isEqualTo(10);
+  }
+
+  @Test
+  @DisplayName("runUntil should stop once the deadline has passed.")
+  void runUntilOutOfBudget() {
+    // GIVEN
+    var machine = machineWith(SPIN);
+    var deadline = System.nanoTime() + 10_000_000L;
+
+    // WHEN
+    var status = machine.runUntil(deadline);
+
+    // THEN
+    assertThat(status).isEqualTo(RunStatus.OUT_OF_BUDGET);
+    assertThat(System.nanoTime()).isGreaterThanOrEqualTo(deadline);
+  }
+
+  @Test
+  @DisplayName("step(n) should execute exactly n cells.")
+  void stepN() {
+    // GIVEN
+    var counter = new int[1];
+    var machine = machineWith(m -> counter[0]++);
+
+    // WHEN
+    machine.step(42);
+
+    // THEN
+    assertThat(counter[0]).isEqualTo(42);
+  }
+
+  @Test
+  @DisplayName("machines should not share their input or output.")
+  void isolatedContexts() throws Exception {
+    // GIVEN
+    var out1 = new ByteArrayOutputStream();
+    var out2 = new ByteArrayOutputStream();
+    var machine1 =
+        aMachine()
+            .withState(aMachineState().build())
+            .withContext(new MachineContext(InputSource.of("a"), new OutputSink(out1)))
+            .build();
+    var machine2 =
+        aMachine()
+            .withState(aMachineState().build())
+            .withContext(new MachineContext(InputSource.of("b"), new OutputSink(out2)))
+            .build();
+
+    // WHEN
+    machine1.getOutputSink().write(machine1.getInputSource().read(true));
+    machine2.getOutputSink().write(machine2.getInputSource().read(true));
+    machine1.halt(0);
+    machine2.halt(0);
+
+    // THEN
+    assertThat(out1.toString()).isEqualTo("a");
+    assertThat(out2.toString()).isEqualTo("b");
+  }
+
+  @Test
+  @DisplayName("a fork should start in the same state and then diverge from the original.")
+  void fork() {
+    // GIVEN
+    var machine = machineWith(SPIN);
+    machine.setMemoryAt(100, "a");
+    machine.pushToParameterStack(1);
+    machine.createDictionaryItem("FOO", new DictionaryItem("FOO", 100, false, false));
+    machine.findWord("FOO");
+
+    // WHEN
+    var fork = machine.fork(new MachineContext());
+    var forked = fork.findDictionaryItem(100);
+    forked.setIsHidden(true);
+    forked.setIsImmediate(true);
+    fork.dictionaryItemChanged(forked);
+    fork.setMemoryAt(100, "b");
+    fork.pushToParameterStack(2);
+    fork.createDictionaryItem("FOO", new DictionaryItem("FOO", 200, false, false));
+    machine.popFromParameterStack();
+    machine.pushToParameterStack(3);
+
+    // THEN
+    assertThat(machine.getMemoryAt(100)).isEqualTo("a");
+    assertThat(fork.getMemoryAt(100)).isEqualTo("b");
+    assertThat(machine.popFromParameterStack()).isEqualTo(3);
+    assertThat(fork.popFromParameterStack()).isEqualTo(2);
+    assertThat(fork.popFromParameterStack()).isEqualTo(1);
+    assertThat(machine.findDictionaryItem("FOO").getAddress()).isEqualTo(100);
+    assertThat(fork.findDictionaryItem("FOO").getAddress()).isEqualTo(200);
+    assertThat(fork.findDictionaryItem(100).getIsHidden()).isTrue();
+    assertThat(fork.findDictionaryItem(100).getIsImmediate()).isTrue();
+    assertThat(machine.findWord("FOO").isHidden()).isFalse();
+    assertThat(machine.findWord("FOO").isImmediate()).isFalse();
+    assertThat(machine.findDictionaryItem(100).getIsHidden()).isFalse();
+    assertThat(machine.findDictionaryItem(100).getIsImmediate()).isFalse();
+  }
+
+  @Test
+  @DisplayName("peekDictionaryItem should not copy a shared item into a fork.")
+  void peekDictionaryItem() {
+    // GIVEN
+    var machine = machineWith(SPIN);
+    var item = new DictionaryItem("FOO", 100, false, false);
+    machine.createDictionaryItem("FOO", item);
+    var fork = machine.fork(new MachineContext());
+
+    // WHEN
+    var peeked = fork.peekDictionaryItem(100);
+
+    // THEN
+    assertThat(peeked).isSameAs(item);
+    assertThat(fork.peekDictionaryItem(100)).isSameAs(item);
+    assertThat(fork.findDictionaryItem(100)).isNotSameAs(item);
+  }
+}
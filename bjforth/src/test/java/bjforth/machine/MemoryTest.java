@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static bjforth.utils.RandomUtils.nextIntExcluding;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class MemoryTest {
+
+  @DisplayName("should return what was set at an address.")
+  @ParameterizedTest(name = "{displayName} layout={0}")
+  @EnumSource(Memory.Layout.class)
+  void setAndGet(Memory.Layout layout) {
+    // GIVEN
+    var memory = new Memory(layout);
+    var object1 = new Object();
+    var object2 = new Object();
+    var object3 = new Object();
+    var address = nextIntExcluding(4, 5, Memory.PAGE_SIZE * 3 + 7);
+
+    // WHEN
+    memory.set(4, object1);
+    memory.set(Memory.PAGE_SIZE * 3 + 7, object2);
+    memory.set(address, object3);
+
+    // THEN
+    assertThat(memory.get(4)).isSameAs(object1);
+    assertThat(memory.get(Memory.PAGE_SIZE * 3 + 7)).isSameAs(object2);
+    assertThat(memory.get(address)).isSameAs(object3);
+    assertThat(memory.get(5)).isNull();
+  }
+
+  @DisplayName("should handle addresses outside the paged range.")
+  @ParameterizedTest(name = "{displayName} layout={0}")
+  @EnumSource(Memory.Layout.class)
+  void outOfPagedRange(Memory.Layout layout) {
+    // GIVEN
+    var memory = new Memory(layout);
+    var beyond = Memory.MAX_PAGES * Memory.PAGE_SIZE;
+
+    // WHEN
+    memory.set(-1, 1);
+    memory.set(beyond, 2);
+    memory.set(Integer.MAX_VALUE, 3);
+
+    // THEN
+    assertThat(memory.get(-1)).isEqualTo(1);
+    assertThat(memory.get(beyond)).isEqualTo(2);
+    assertThat(memory.get(Integer.MAX_VALUE)).isEqualTo(3);
+    assertThat(memory.addresses()).containsExactlyInAnyOrder(-1, beyond, Integer.MAX_VALUE);
+  }
+
+  @DisplayName("should tell a cell set to null apart from an unset one.")
+  @ParameterizedTest(name = "{displayName} layout={0}")
+  @EnumSource(Memory.Layout.class)
+  void nullCells(Memory.Layout layout) {
+    // GIVEN
+    var memory = new Memory(layout);
+
+    // WHEN
+    memory.set(10, null);
+
+    // THEN
+    assertThat(memory.get(10)).isNull();
+    assertThat(memory.addresses()).containsExactly(10);
+  }
+
+  @DisplayName("should not share cells with a copy.")
+  @ParameterizedTest(name = "{displayName} layout={0}")
+  @EnumSource(Memory.Layout.class)
+  void copy(Memory.Layout layout) {
+    // GIVEN
+    var memory1 = new Memory(layout);
+    memory1.set(4, 1);
+    memory1.set(-4, 1);
+
+    // WHEN
+    var memory2 = new Memory(memory1);
+    memory2.set(4, 2);
+    memory2.set(-4, 2);
+    memory1.set(5, 1);
+
+    // THEN
+    assertThat(memory1.get(4)).isEqualTo(1);
+    assertThat(memory1.get(-4)).isEqualTo(1);
+    assertThat(memory2.get(4)).isEqualTo(2);
+    assertThat(memory2.get(-4)).isEqualTo(2);
+    assertThat(memory2.get(5)).isNull();
+    assertThat(memory2.getLayout()).isEqualTo(layout);
+  }
+
+  @DisplayName("should keep the code table in step with the cells.")
+  @ParameterizedTest(name = "{displayName} layout={0}")
+  @EnumSource(Memory.Layout.class)
+  void codeTable(Memory.Layout layout) {
+    // GIVEN
+    var memory = new Memory(layout);
+    NativeSubroutine code = machine -> {};
+
+    // WHEN
+    memory.set(4, code);
+    memory.set(-4, code);
+    memory.set(5, code);
+    memory.set(5, 42);
+
+    // THEN
+    assertThat(memory.getCode(4)).isSameAs(code);
+    assertThat(memory.getCode(-4)).isSameAs(code);
+    assertThat(memory.getCode(5)).isNull();
+    assertThat(memory.getCode(6)).isNull();
+    assertThat(new Memory(memory).getCode(4)).isSameAs(code);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import bjforth.machine.OutputSink.FlushPolicy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OutputSinkTest {
+
+  @Test
+  @DisplayName("should hold on to the output until a newline when flushing on newlines.")
+  void flushesOnNewline() throws IOException {
+    // GIVEN
+    var stream = new ByteArrayOutputStream();
+    var sink = new OutputSink(stream, 16, EnumSet.of(FlushPolicy.NEWLINE));
+
+    // WHEN
+    sink.write("ab");
+    sink.write('c');
+    var beforeNewline = stream.toString();
+    sink.write('\n');
+
+    // THEN
+    assertThat(beforeNewline).isEmpty();
+    assertThat(stream.toString()).isEqualTo("abc\n");
+  }
+
+  @Test
+  @DisplayName("should write out the buffer once it is full.")
+  void flushesWhenFull() throws IOException {
+    // GIVEN
+    var stream = new ByteArrayOutputStream();
+    var sink = new OutputSink(stream, 4, Set.of());
+
+    // WHEN
+    sink.write("abc\ndef");
+
+    // THEN
+    assertThat(stream.toString()).isEqualTo("abc\n");
+    sink.flush();
+    assertThat(stream.toString()).isEqualTo("abc\ndef");
+  }
+
+  @Test
+  @DisplayName("should only flush on the events it was configured for.")
+  void flushesOnConfiguredEvents() throws IOException {
+    // GIVEN
+    var stream = new ByteArrayOutputStream();
+    var sink = new OutputSink(stream, 16, EnumSet.of(FlushPolicy.HALT));
+    sink.write("prompt> ");
+
+    // WHEN
+    sink.flushOn(FlushPolicy.KEY);
+    var afterKey = stream.toString();
+    sink.flushOn(FlushPolicy.HALT);
+
+    // THEN
+    assertThat(afterKey).isEmpty();
+    assertThat(stream.toString()).isEqualTo("prompt> ");
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StackTest {
+
+  @Test
+  @DisplayName("should pop in the reverse order of push, growing as needed.")
+  void pushAndPop() {
+    // GIVEN
+    var stack = new Stack();
+
+    // WHEN
+    for (int i = 0; i < 1000; i++) {
+      stack.push(i);
+    }
+
+    // THEN
+    assertThat(stack.getPointer()).isEqualTo(999);
+    for (int i = 999; i >= 0; i--) {
+      assertThat(stack.pop()).isEqualTo(i);
+    }
+    assertThatThrownBy(stack::pop).isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(stack::getPointer).isInstanceOf(MachineException.class);
+  }
+
+  @Test
+  @DisplayName("should drop everything above the pointer when the pointer is set.")
+  void setPointer() {
+    // GIVEN
+    var stack = new Stack();
+    for (int i = 0; i < 10; i++) {
+      stack.push(i);
+    }
+
+    // WHEN
+    stack.setPointer(3);
+    stack.push(100);
+
+    // THEN
+    var elements = new ArrayList<>();
+    stack.ascendingIterator().forEachRemaining(elements::add);
+    assertThat(elements).containsExactly(0, 1, 2, 3, 100);
+    assertThatThrownBy(() -> stack.setPointer(5)).isInstanceOf(MachineException.class);
+    assertThatThrownBy(() -> stack.setPointer(-1)).isInstanceOf(MachineException.class);
+  }
+
+  @Test
+  @DisplayName("should not share elements with a copy.")
+  void copy() {
+    // GIVEN
+    var stack1 = new Stack();
+    stack1.push(1);
+    stack1.push(2);
+
+    // WHEN
+    var stack2 = new Stack(stack1);
+    stack2.pop();
+    stack2.push(3);
+
+    // THEN
+    var elements = new ArrayList<>();
+    stack1.descendingIterator().forEachRemaining(elements::add);
+    assertThat(elements).containsExactly(2, 1);
+    assertThat(stack2.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("should remember the most elements it held at once.")
+  void highWaterMark() {
+    // GIVEN
+    var stack = new Stack();
+
+    // WHEN
+    for (int i = 0; i < 10; i++) {
+      stack.push(i);
+    }
+    stack.setPointer(2);
+    stack.push(42);
+
+    // THEN
+    assertThat(stack.size()).isEqualTo(4);
+    assertThat(stack.getHighWaterMark()).isEqualTo(10);
+  }
+}
@@ -44,6 +44,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.junit.jupiter.params.provider.MethodSource;
 
 class ADDTest {
 
@@ -86,6 +87,33 @@ class ADDTest {
         .hasReturnStackEqualTo(state1);
   }
 
+  @DisplayName("should promote the result to a wider type on overflow.")
+  @ParameterizedTest(name = "{displayName} parameter1({0}) parameter2({1}) expected({2})")
+  @MethodSource("overflowingNumbers")
+  void promotesOnOverflow(
+      Object parameter1, Object parameter2, Object expectedResult, Class<?> expectedType) {
+    // GIVEN
+    var add = PrimitiveFactory.ADD();
+    var addAddr = nextInt();
+    var ip = anInstructionPointer().with(addAddr).build();
+    var nip = aNextInstructionPointer().with(ip).plus(1).build();
+    var state =
+        aMachineState()
+            .withInstrcutionPointer(ip)
+            .withNextInstructionPointer(nip)
+            .withMemory(aMemory().with(addAddr, add).build())
+            .withParameterStack(aParameterStack().with(parameter2, parameter1).build())
+            .build();
+    var machine = aMachine().withState(state).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(state).hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
+    assertThat(machine.popFromParameterStack()).isExactlyInstanceOf(expectedType);
+  }
+
   @DisplayName("should throw if any of parameter stack top is not a number.")
   @ParameterizedTest(name = "{displayName} parameter1(type={2}) parameter2(type={3})")
   @ArgumentsSource(NonNumberArgumentProvider.class)
@@ -233,9 +261,17 @@ class ADDTest {
       } else if (a instanceof Float || b instanceof Float) {
         return a.floatValue() + b.floatValue();
       } else if (a instanceof Long || b instanceof Long) {
-        return a.longValue() + b.longValue();
+        try {
+          return Math.addExact(a.longValue(), b.longValue());
+        } catch (ArithmeticException ex) {
+          return BigInteger.valueOf(a.longValue()).add(BigInteger.valueOf(b.longValue()));
+        }
       } else if (a instanceof Integer || b instanceof Integer) {
-        return a.intValue() + b.intValue();
+        try {
+          return Math.addExact(a.intValue(), b.intValue());
+        } catch (ArithmeticException ex) {
+          return a.longValue() + b.longValue();
+        }
       } else if (a instanceof Short || b instanceof Short) {
         return a.shortValue() + b.shortValue();
       } else if (a instanceof Byte || b instanceof Byte) {
@@ -259,4 +295,18 @@ class ADDTest {
           n, m, n.add(m), BigInteger.class.getCanonicalName(), BigInteger.class.getCanonicalName());
     }
   }
+
+  static Stream<Arguments> overflowingNumbers() {
+    return Stream.of(
+        Arguments.of(Integer.MAX_VALUE, 1, 2147483648L, Long.class),
+        Arguments.of(Integer.MIN_VALUE, -1, -2147483649L, Long.class),
+        Arguments.of(Long.MAX_VALUE, 1L, new BigInteger("9223372036854775808"), BigInteger.class),
+        Arguments.of(Long.MAX_VALUE, 1, new BigInteger("9223372036854775808"), BigInteger.class),
+        Arguments.of(1L, BigInteger.TEN, BigInteger.valueOf(11), BigInteger.class),
+        Arguments.of(
+            new BigInteger("9223372036854775807"),
+            Long.MAX_VALUE,
+            new BigInteger("18446744073709551614"),
+            BigInteger.class));
+  }
 }
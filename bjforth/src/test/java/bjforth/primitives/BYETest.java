@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.InstructionPointerBuilder.anInstructionPointer;
+import static bjforth.machine.MachineAssertions.assertThat;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.NextInstructionPointerBuilder.aNextInstructionPointer;
+import static org.apache.commons.lang3.RandomUtils.nextInt;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BYETest {
+
+  @Test
+  @DisplayName("halts the machine with exit code 0.")
+  public void worksOk() {
+    // GIVEN
+    var bye = PrimitiveFactory.BYE();
+    var byeAddr = nextInt();
+    var ip = anInstructionPointer().with(byeAddr).build();
+    var nip = aNextInstructionPointer().with(ip).plus(1).build();
+    var state1 =
+        aMachineState()
+            .withInstrcutionPointer(ip)
+            .withNextInstructionPointer(nip)
+            .withMemory(aMemory().with(byeAddr, bye).build())
+            .build();
+    var state2 = aMachineState().copyFrom(state1).build();
+    var machine = aMachine().withState(state2).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(machine.isHalted()).isTrue();
+    assertThat(machine.getExitCode()).isZero();
+    assertThat(state2)
+        .hasInstructionPointerEqualTo(anInstructionPointer().with(state1).plus(1).build())
+        .hasNextInstructionPointerEqualTo(aNextInstructionPointer().with(state1).plus(1).build())
+        .hasDictionaryEqualTo(state1)
+        .hasMemoryEqualTo(state1)
+        .hasParameterStackEqualTo(state1)
+        .hasReturnStackEqualTo(state1);
+  }
+
+  @Test
+  @DisplayName("should end run().")
+  public void endsRun() {
+    // GIVEN
+    var state =
+        aMachineState()
+            .withInstrcutionPointer(0)
+            .withNextInstructionPointer(1)
+            .withMemory(
+                aMemory()
+                    .with(0, PrimitiveFactory.DUP())
+                    .with(1, PrimitiveFactory.DROP())
+                    .with(2, PrimitiveFactory.BYE())
+                    .with(3, "never executed")
+                    .build())
+            .build();
+    var machine = aMachine().withState(state).build();
+    machine.pushToParameterStack(42);
+
+    // WHEN
+    var result = machine.run();
+
+    // THEN
+    assertThat(result.exitCode()).isZero();
+    assertThat(result.steps()).isEqualTo(3);
+    assertThat(result.elapsed()).isPositive();
+    assertThat(machine.run().steps()).isZero();
+  }
+}
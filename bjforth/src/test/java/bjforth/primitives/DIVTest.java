@@ -151,6 +151,33 @@ class DIVTest {
         .hasReturnStackEqualTo(state1);
   }
 
+  @DisplayName("should promote the result to a wider type on overflow.")
+  @ParameterizedTest(name = "{displayName} parameter1({0}) parameter2({1}) expected({2})")
+  @MethodSource("overflowingNumbers")
+  void promotesOnOverflow(
+      Object parameter1, Object parameter2, Object expectedResult, Class<?> expectedType) {
+    // GIVEN
+    var div = PrimitiveFactory.DIV();
+    var divAddr = nextInt();
+    var ip = anInstructionPointer().with(divAddr).build();
+    var nip = aNextInstructionPointer().with(ip).plus(1).build();
+    var state =
+        aMachineState()
+            .withInstrcutionPointer(ip)
+            .withNextInstructionPointer(nip)
+            .withMemory(aMemory().with(divAddr, div).build())
+            .withParameterStack(aParameterStack().with(parameter2, parameter1).build())
+            .build();
+    var machine = aMachine().withState(state).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(state).hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
+    assertThat(machine.popFromParameterStack()).isExactlyInstanceOf(expectedType);
+  }
+
   @DisplayName("should throw if any of parameter stack top is not a number.")
   @ParameterizedTest(name = "{displayName} parameter1(type={2}) parameter2(type={3})")
   @ArgumentsSource(NonNumberArgumentProvider.class)
@@ -354,4 +381,17 @@ class DIVTest {
         Arguments.of(Math.abs(f), 0f, Float.POSITIVE_INFINITY, Float.class.getCanonicalName()),
         Arguments.of(-Math.abs(f), 0f, Float.NEGATIVE_INFINITY, Float.class.getCanonicalName()));
   }
+
+  static Stream<Arguments> overflowingNumbers() {
+    return Stream.of(
+        Arguments.of(Integer.MIN_VALUE, -1, 2147483648L, Long.class),
+        Arguments.of(7, 2, 3, Integer.class),
+        Arguments.of(Long.MIN_VALUE, -1L, new BigInteger("9223372036854775808"), BigInteger.class),
+        Arguments.of(Long.MIN_VALUE, -1, new BigInteger("9223372036854775808"), BigInteger.class),
+        Arguments.of(
+            new BigInteger("18446744073709551614"),
+            2L,
+            new BigInteger("9223372036854775807"),
+            BigInteger.class));
+  }
 }
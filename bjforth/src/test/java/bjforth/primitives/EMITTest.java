@@ -68,7 +68,7 @@ class EMITTest {
 
   @DisplayName("writes the top of the parameter stack to System.out")
   @Test
-  void worksOk() {
+  void worksOk() throws IOException {
     // GIVEN
     var str = RandomStringUtils.random(1);
     var ch = str.codePointAt(0);
@@ -89,6 +89,7 @@ class EMITTest {
 
     // WHEN
     machine.step();
+    machine.getOutputSink().flush();
 
     // THEN
     assertThat(state2)
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.InstructionPointerBuilder.anInstructionPointer;
+import static bjforth.machine.MachineAssertions.assertThat;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.NextInstructionPointerBuilder.aNextInstructionPointer;
+import static bjforth.machine.ReturnStackBuilder.aReturnStack;
+import static bjforth.utils.RandomUtils.nextInt;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bjforth.machine.MachineException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EXITTest {
+
+  @Test
+  @DisplayName("continues execution at the address popped from return stack.")
+  public void worksOk() {
+    // GIVEN
+    var exit = PrimitiveFactory.EXIT();
+    var exitAddr = nextInt();
+    var ip = anInstructionPointer().with(exitAddr).build();
+    var nip = aNextInstructionPointer().with(ip).plus(1).build();
+    var returnAddr = nextInt();
+    var state1 =
+        aMachineState()
+            .withInstrcutionPointer(ip)
+            .withNextInstructionPointer(nip)
+            .withMemory(aMemory().with(exitAddr, exit).build())
+            .withReturnStack(aReturnStack().with(returnAddr).build())
+            .build();
+    var state2 = aMachineState().copyFrom(state1).build();
+    var machine = aMachine().withState(state2).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(state2)
+        .hasInstructionPointerEqualTo(returnAddr)
+        .hasNextInstructionPointerEqualTo(
+            aNextInstructionPointer().with(returnAddr).plus(1).build())
+        .hasDictionaryEqualTo(state1)
+        .hasMemoryEqualTo(state1)
+        .hasReturnStackEqualTo(aReturnStack().build());
+  }
+
+  @Test
+  @DisplayName("should throw if return stack is already empty.")
+  public void throwIfEmpty() {
+    // GIVEN
+    var exit = PrimitiveFactory.EXIT();
+    var exitAddr = nextInt();
+    var ip = anInstructionPointer().with(exitAddr).build();
+    var nip = aNextInstructionPointer().with(ip).plus(1).build();
+    var state1 =
+        aMachineState()
+            .withInstrcutionPointer(ip)
+            .withNextInstructionPointer(nip)
+            .withMemory(aMemory().with(exitAddr, exit).build())
+            .withReturnStack(aReturnStack().build())
+            .build();
+    var state2 = aMachineState().copyFrom(state1).build();
+    var machine = aMachine().withState(state2).build();
+
+    // EXPECT
+    assertThrows(MachineException.class, machine::step);
+    assertThat(state2).isEqualTo(state1);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.primitives.WordFixtures.WORD;
+import static bjforth.primitives.WordFixtures.aStateCalling;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import bjforth.machine.DictionaryItem;
+import bjforth.machine.ExecutionTrace;
+import bjforth.machine.Machine;
+import bjforth.machine.MachineContext;
+import bjforth.machine.MachineException;
+import bjforth.machine.MachineImage;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ExecutionTraceTest {
+
+  private static final List<Object> TWICE =
+      List.of(
+          PrimitiveFactory.DOCOL(), // 100
+          PrimitiveFactory.DUP(), // 101
+          PrimitiveFactory.ADD(), // 102
+          PrimitiveFactory.ADD(), // 103
+          PrimitiveFactory.EXIT()); // 104
+
+  private static Machine machineWith(Object... parameters) {
+    var machine = aMachine().withState(aStateCalling(TWICE, parameters).build()).build();
+    machine.createDictionaryItem("TWICE", new DictionaryItem("TWICE", WORD - 1, false, false));
+    return machine;
+  }
+
+  @Test
+  @DisplayName("should attach the last steps to an exception escaping step.")
+  void attachedToException() {
+    // GIVEN
+    var machine = machineWith(1);
+    machine.setExecutionTrace(new ExecutionTrace(2));
+
+    // WHEN
+    var exception = catchThrowableOfType(() -> machine.step(4), MachineException.class);
+
+    // THEN
+    assertThat(exception).hasMessage("ParameterStack error.");
+    assertThat(exception.getSuppressed())
+        .singleElement()
+        .isInstanceOf(ExecutionTrace.Dump.class)
+        .hasMessage("Last 2 steps:\n102 TWICE+2 ADD depth=2\n103 TWICE+3 ADD depth=1\n");
+  }
+
+  @Test
+  @DisplayName("should keep only the last steps.")
+  void ring() {
+    // GIVEN
+    var machine = machineWith(1, 2);
+    var trace = new ExecutionTrace(3);
+    machine.setExecutionTrace(trace);
+
+    // WHEN
+    machine.step(5);
+
+    // THEN
+    assertThat(trace.getCapacity()).isEqualTo(4);
+    assertThat(trace.size()).isEqualTo(4);
+    assertThat(trace.dump(machine).lines())
+        .containsExactly(
+            "101 TWICE+1 DUP depth=2",
+            "102 TWICE+2 ADD depth=3",
+            "103 TWICE+3 ADD depth=2",
+            "104 TWICE+4 EXIT depth=1");
+  }
+
+  @Test
+  @DisplayName("should dump the steps of a machine started from an image without changing it.")
+  void dumpFromImage() {
+    // GIVEN
+    var image = new MachineImage(machineWith());
+    var machine = image.newMachine(new MachineContext());
+    machine.pushToParameterStack(1);
+    var trace = new ExecutionTrace(2);
+    machine.setExecutionTrace(trace);
+    machine.step(2);
+    var word = machine.findDictionaryItem("TWICE");
+
+    // WHEN
+    var dump = trace.dump(machine);
+
+    // THEN
+    assertThat(dump.lines())
+        .containsExactly("100 TWICE+0 DOCOL depth=1", "101 TWICE+1 DUP depth=1");
+    assertThat(machine.findDictionaryItem("TWICE")).isSameAs(word);
+  }
+}
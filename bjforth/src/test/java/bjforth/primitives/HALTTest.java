@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.InstructionPointerBuilder.anInstructionPointer;
+import static bjforth.machine.MachineAssertions.assertThat;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.NextInstructionPointerBuilder.aNextInstructionPointer;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+import static org.apache.commons.lang3.RandomUtils.nextInt;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bjforth.machine.MachineException;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HALTTest {
+
+  @Test
+  @DisplayName("halts the machine with the exit code on top of ParameterStack.")
+  public void worksOk() {
+    // GIVEN
+    var halt = PrimitiveFactory.HALT();
+    var haltAddr = nextInt();
+    var exitCode = nextInt();
+    var ip = anInstructionPointer().with(haltAddr).build();
+    var nip = aNextInstructionPointer().with(ip).plus(1).build();
+    var state1 =
+        aMachineState()
+            .withInstrcutionPointer(ip)
+            .withNextInstructionPointer(nip)
+            .withMemory(aMemory().with(haltAddr, halt).build())
+            .withParameterStack(aParameterStack().with(exitCode).build())
+            .build();
+    var state2 = aMachineState().copyFrom(state1).build();
+    var machine = aMachine().withState(state2).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(machine.isHalted()).isTrue();
+    assertThat(machine.getExitCode()).isEqualTo(exitCode);
+    assertThat(state2)
+        .hasInstructionPointerEqualTo(anInstructionPointer().with(state1).plus(1).build())
+        .hasNextInstructionPointerEqualTo(aNextInstructionPointer().with(state1).plus(1).build())
+        .hasMemoryEqualTo(state1)
+        .hasParameterStackEqualTo(aParameterStack().build())
+        .hasReturnStackEqualTo(state1);
+  }
+
+  @Test
+  @DisplayName("should throw if ParameterStack is empty.")
+  public void throwIfEmpty() {
+    // GIVEN
+    var halt = PrimitiveFactory.HALT();
+    var haltAddr = nextInt();
+    var ip = anInstructionPointer().with(haltAddr).build();
+    var nip = aNextInstructionPointer().with(ip).plus(1).build();
+    var state1 =
+        aMachineState()
+            .withInstrcutionPointer(ip)
+            .withNextInstructionPointer(nip)
+            .withMemory(aMemory().with(haltAddr, halt).build())
+            .build();
+    var state2 = aMachineState().copyFrom(state1).build();
+    var machine = aMachine().withState(state2).build();
+
+    // EXPECT
+    assertThrows(MachineException.class, machine::step);
+    assertThat(machine.isHalted()).isFalse();
+  }
+
+  @Test
+  @DisplayName("should halt compiled code too.")
+  public void haltsCompiledCode() {
+    // GIVEN
+    var state =
+        aMachineState()
+            .withInstrcutionPointer(100)
+            .withNextInstructionPointer(50)
+            .withMemory(
+                aMemory()
+                    .with(100, PrimitiveFactory.DOCOL())
+                    .with(101, PrimitiveFactory.LIT())
+                    .with(102, 7)
+                    .with(103, PrimitiveFactory.HALT())
+                    .with(104, PrimitiveFactory.LIT())
+                    .with(105, 8)
+                    .with(106, PrimitiveFactory.EXIT())
+                    .build())
+            .build();
+    var machine = aMachine().withState(state).build();
+    new WordCompiler().install(machine, 100);
+
+    // WHEN
+    var result = machine.run();
+
+    // THEN
+    assertThat(result.exitCode()).isEqualTo(7);
+    assertThat(result.steps()).isEqualTo(1);
+    assertThat(machine.getInstrcutionPointer()).isEqualTo(104);
+    assertThatThrownBy(machine::popFromParameterStack).isInstanceOf(NoSuchElementException.class);
+  }
+}
@@ -50,16 +50,14 @@ class IMMEDIATETest {
     var ip = anInstructionPointer().with(immediateAddr).build();
     var nip = aNextInstructionPointer().with(ip).plus(1).build();
     var wordName = RandomStringUtils.secure().next(5);
-    var wordAddr = nextInt();
     var latestValue = nextInt();
     var isImmediate = nextBoolean();
-    var dictItem = new DictionaryItem(wordName, wordAddr, isImmediate, false);
+    var dictItem = new DictionaryItem(wordName, latestValue, isImmediate, false);
     var state1 =
         aMachineState()
             .withInstrcutionPointer(ip)
             .withNextInstructionPointer(nip)
-            .withMemory(
-                aMemory().with(immediateAddr, immediate).with(latestValue, wordAddr).build())
+            .withMemory(aMemory().with(immediateAddr, immediate).build())
             .withDictionary(aDictionary().with(wordName, dictItem).build())
             .withParameterStack(aParameterStack().build())
             .withVariable(Variables.LATEST(), latestValue)
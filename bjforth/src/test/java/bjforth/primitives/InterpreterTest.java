@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import bjforth.bootstrap.Bootstrap;
+import bjforth.machine.InputSource;
+import bjforth.machine.Machine;
+import bjforth.machine.MachineContext;
+import bjforth.machine.MachineException;
+import bjforth.machine.OutputSink;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InterpreterTest {
+
+  @BeforeEach
+  void resetPrimitives() {
+    PrimitiveFactoryModificationUtils.resetAllPrimitives();
+  }
+
+  private static Machine interpreting(String source) {
+    var context =
+        new MachineContext(InputSource.of(source), new OutputSink(new ByteArrayOutputStream()));
+    var machine = new Machine(context);
+    new Bootstrap().apply(machine);
+    Interpreter.install(machine);
+    return machine;
+  }
+
+  private static List<Object> parameterStackOf(Machine machine) {
+    var items = new ArrayList<Object>();
+    try {
+      while (true) {
+        items.add(0, machine.popFromParameterStack());
+      }
+    } catch (NoSuchElementException ex) {
+      return items;
+    }
+  }
+
+  @Test
+  @DisplayName("should execute words and push numbers until the input ends.")
+  void interprets() {
+    // GIVEN
+    var machine = interpreting("1 2 + \\ a comment\n3 *\t10 SWAP");
+
+    // WHEN
+    var result = machine.run();
+
+    // THEN
+    assertThat(result.exitCode()).isZero();
+    assertThat(parameterStackOf(machine)).containsExactly(10, 9);
+  }
+
+  @Test
+  @DisplayName("should compile a colon definition into the code space and call it.")
+  void colonDefinition() {
+    // GIVEN
+    var machine = interpreting(": SQUARE DUP * ; : QUAD SQUARE SQUARE 1 + ; 2 QUAD");
+
+    // WHEN
+    machine.run();
+
+    // THEN
+    assertThat(parameterStackOf(machine)).containsExactly(17);
+    var square = machine.findDictionaryItem("SQUARE");
+    assertThat(square.getIsHidden()).isFalse();
+    var codeField = square.getAddress() + 1;
+    assertThat(machine.getMemoryAt(codeField)).isSameAs(PrimitiveFactory.DOCOL());
+    assertThat(machine.getMemoryAt(codeField + 1)).isSameAs(PrimitiveFactory.DUP());
+    assertThat(machine.getMemoryAt(codeField + 2)).isSameAs(PrimitiveFactory.MUL());
+    assertThat(machine.getMemoryAt(codeField + 3)).isSameAs(PrimitiveFactory.EXIT());
+    var quadCodeField = machine.findDictionaryItem("QUAD").getAddress() + 1;
+    assertThat(machine.getMemoryAt(quadCodeField + 1)).isEqualTo(new WordCall(codeField));
+    assertThat(machine.getMemoryAt(quadCodeField + 3)).isSameAs(PrimitiveFactory.LIT());
+    assertThat(machine.getMemoryAt(quadCodeField + 4)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should execute immediate words while compiling.")
+  void immediateWords() {
+    // GIVEN
+    var machine = interpreting(": FIVE [ 5 ] ; FIVE");
+
+    // WHEN
+    machine.run();
+
+    // THEN
+    assertThat(parameterStackOf(machine)).containsExactly(5);
+  }
+
+  @Test
+  @DisplayName("should throw on an unknown word and carry on with the next once restarted.")
+  void unknownWord() {
+    // GIVEN
+    var machine = interpreting("1 NOPE 42");
+
+    // WHEN
+    var thrown = catchThrowable(machine::run);
+    Interpreter.restart(machine);
+    machine.run();
+
+    // THEN
+    assertThat(thrown).isInstanceOf(MachineException.class).hasMessage("Unknown word: NOPE");
+    assertThat(parameterStackOf(machine)).containsExactly(1, 42);
+  }
+
+  @Test
+  @DisplayName("IMMEDIATE should make the latest definition run while compiling.")
+  void immediateDefinition() {
+    // GIVEN
+    var machine = interpreting(": FIVE 5 ; IMMEDIATE : X FIVE ; X");
+
+    // WHEN
+    machine.run();
+
+    // THEN
+    assertThat(machine.findDictionaryItem("FIVE").getIsImmediate()).isTrue();
+    assertThat(parameterStackOf(machine)).containsExactly(5);
+  }
+
+  @Test
+  @DisplayName("INTERPRET should not be a word, as it writes to the cell after itself.")
+  void interpretNotAWord() {
+    // GIVEN
+    var machine = interpreting(": X INTERPRET ;");
+
+    // WHEN
+    var thrown = catchThrowable(machine::run);
+
+    // THEN
+    assertThat(thrown).isInstanceOf(MachineException.class).hasMessage("Unknown word: INTERPRET");
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import bjforth.machine.OutputSink;
+import bjforth.machine.events.MachineHaltEvent;
+import bjforth.machine.events.MachineStartEvent;
+import bjforth.machine.events.OutputFlushEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JfrEventsTest {
+
+  @TempDir Path dir;
+
+  private List<RecordedEvent> eventsOf(Recording recording) throws IOException {
+    recording.stop();
+    var file = dir.resolve("recording.jfr");
+    recording.dump(file);
+    return RecordingFile.readAllEvents(file);
+  }
+
+  @Test
+  @DisplayName("should record the start and the halt of a machine.")
+  void startAndHalt() throws IOException {
+    // GIVEN
+    var state =
+        aMachineState()
+            .withInstrcutionPointer(100)
+            .withNextInstructionPointer(101)
+            .withMemory(aMemory().with(100, PrimitiveFactory.HALT()).build())
+            .withParameterStack(aParameterStack().with(3).build())
+            .build();
+    var machine = aMachine().withState(state).build();
+
+    try (var recording = new Recording()) {
+      recording.enable(MachineStartEvent.class);
+      recording.enable(MachineHaltEvent.class);
+      recording.start();
+
+      // WHEN
+      machine.run();
+
+      // THEN
+      var events = eventsOf(recording);
+      assertThat(events)
+          .extracting(event -> event.getEventType().getName())
+          .containsExactlyInAnyOrder("bjforth.MachineStart", "bjforth.MachineHalt");
+      assertThat(events).allMatch(event -> event.getLong("machine") == machine.getId());
+      assertThat(events)
+          .filteredOn(event -> event.hasField("exitCode"))
+          .singleElement()
+          .matches(event -> event.getInt("exitCode") == 3);
+    }
+  }
+
+  @Test
+  @DisplayName("should record output flushes longer than the threshold.")
+  void outputFlush() throws IOException {
+    // GIVEN
+    var sink = new OutputSink(new ByteArrayOutputStream());
+    sink.write("hello");
+
+    try (var recording = new Recording()) {
+      recording.enable(OutputFlushEvent.class).withThreshold(Duration.ZERO);
+      recording.start();
+
+      // WHEN
+      sink.flush();
+
+      // THEN
+      assertThat(eventsOf(recording))
+          .singleElement()
+          .matches(event -> event.getInt("characters") == 5)
+          .matches(event -> "EXPLICIT".equals(event.getString("trigger")));
+    }
+  }
+}
@@ -26,9 +26,11 @@ import static bjforth.machine.MemoryBuilder.aMemory;
 import static bjforth.machine.NextInstructionPointerBuilder.aNextInstructionPointer;
 import static bjforth.machine.ParameterStackBuilder.aParameterStack;
 import static bjforth.utils.RandomUtils.nextInt;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import bjforth.machine.MachineException;
+import bjforth.machine.RunStatus;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import org.apache.commons.lang3.RandomStringUtils;
@@ -112,4 +114,32 @@ class KEYTest {
         .hasMessage("End of stream");
     assertThat(state2).isEqualTo(state1);
   }
+
+  @DisplayName("waits for input without blocking when run in a time slice.")
+  @Test
+  void awaitsInput() {
+    // GIVEN
+    var inputStream = new ByteArrayInputStream(new byte[0]);
+    System.setIn(inputStream);
+
+    var key = PrimitiveFactory.KEY();
+    var keyAddr = nextInt();
+    var ip = anInstructionPointer().with(keyAddr).build();
+    var nip = aNextInstructionPointer().with(ip).plus(1).build();
+    var state1 =
+        aMachineState()
+            .withInstrcutionPointer(ip)
+            .withNextInstructionPointer(nip)
+            .withMemory(aMemory().with(keyAddr, key).build())
+            .build();
+    var state2 = aMachineState().copyFrom(state1).build();
+    var machine = aMachine().withState(state2).build();
+
+    // WHEN
+    var status = machine.runFor(10);
+
+    // THEN
+    assertThat(status).isEqualTo(RunStatus.BLOCKED_ON_INPUT);
+    assertThat(state2).isEqualTo(state1);
+  }
 }
@@ -31,9 +31,15 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import bjforth.bootstrap.Bootstrap;
 import bjforth.machine.MachineException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 
 class NUMBERTest {
 
@@ -133,4 +139,31 @@ class NUMBERTest {
     assertThrows(MachineException.class, machine::step);
     assertThat(state2).isEqualTo(aMachineState().copyFrom(state1).build());
   }
+
+  @DisplayName("should pick the narrowest type holding the token, or null if it is not a number.")
+  @ParameterizedTest(name = "{displayName} token({0}) base({1}) expected({2})")
+  @MethodSource("tokens")
+  void parsesTokens(String token, int base, Number expected) {
+    assertThat(NUMBER.StringToNumber.valueOf(token, base)).isEqualTo(expected);
+  }
+
+  static Stream<Arguments> tokens() {
+    return Stream.of(
+        Arguments.of("123", 10, 123),
+        Arguments.of("+7", 10, 7),
+        Arguments.of("-2147483648", 10, Integer.MIN_VALUE),
+        Arguments.of("2147483648", 10, 2147483648L),
+        Arguments.of("-9223372036854775808", 10, Long.MIN_VALUE),
+        Arguments.of("9223372036854775808", 10, new BigInteger("9223372036854775808")),
+        Arguments.of("1.5e-3", 10, new BigDecimal("1.5e-3")),
+        Arguments.of("-.5", 10, new BigDecimal("-.5")),
+        Arguments.of("-FF", 16, -255),
+        Arguments.of("ffffffffffffffffff", 16, new BigInteger("ffffffffffffffffff", 16)),
+        Arguments.of("1.5", 16, null),
+        Arguments.of("-", 10, null),
+        Arguments.of(".", 10, null),
+        Arguments.of("1e", 10, null),
+        Arguments.of("12a", 10, null),
+        Arguments.of("1e99999999999", 10, null));
+  }
 }
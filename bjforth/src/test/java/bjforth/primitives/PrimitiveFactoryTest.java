@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PrimitiveFactoryTest {
+
+  @AfterEach
+  void resetPrimitives() {
+    PrimitiveFactoryModificationUtils.resetAllPrimitives();
+  }
+
+  @Test
+  @DisplayName("should look up the same primitive by opcode, by name and by factory method.")
+  void lookups() {
+    assertThat(PrimitiveFactory.get(PrimitiveFactory.Opcode.KEY)).isSameAs(PrimitiveFactory.KEY());
+    assertThat(PrimitiveFactory.byName("KEY")).containsSame(PrimitiveFactory.KEY());
+    assertThat(PrimitiveFactory.byName("NOPE")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("should resolve to an override until the overrides are reset.")
+  void overrides() {
+    // GIVEN
+    var original = PrimitiveFactory.KEY();
+    Primitive replacement = machine -> {};
+
+    // WHEN
+    PrimitiveFactoryModificationUtils.overridePrimitive("KEY", replacement);
+    var overridden = PrimitiveFactory.KEY();
+    PrimitiveFactoryModificationUtils.resetAllPrimitives();
+
+    // THEN
+    assertThat(overridden).isSameAs(replacement);
+    assertThat(PrimitiveFactory.KEY()).isSameAs(original);
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+import static bjforth.primitives.WordFixtures.WORD;
+import static bjforth.primitives.WordFixtures.call;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import bjforth.machine.DictionaryItem;
+import bjforth.machine.Machine;
+import bjforth.machine.MemoryBuilder;
+import bjforth.machine.NativeSubroutine;
+import bjforth.machine.Profiler;
+import java.io.IOException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProfilerTest {
+
+  private static final int OUTER = WORD;
+  private static final int INNER = 200;
+
+  /** A cell which calls the colon definition at {@code codeAddress}. */
+  private static NativeSubroutine callTo(int codeAddress) {
+    return machine -> machine.jumpTo(codeAddress);
+  }
+
+  private static Machine machineWith(MemoryBuilder memory, Object... parameters) {
+    var state =
+        aMachineState()
+            .withMemory(memory.build())
+            .withParameterStack(aParameterStack().with(parameters).build())
+            .build();
+    var machine = aMachine().withState(state).build();
+    machine.createDictionaryItem("OUTER", new DictionaryItem("OUTER", OUTER - 1, false, false));
+    machine.createDictionaryItem("INNER", new DictionaryItem("INNER", INNER - 1, false, false));
+    return machine;
+  }
+
+  private static String collapsedStacks(Profiler profiler) throws IOException {
+    var out = new StringBuilder();
+    profiler.writeCollapsedStacks(out, Profiler.Weight.STEPS);
+    return out.toString();
+  }
+
+  @Test
+  @DisplayName("should attribute steps to words, inclusively and exclusively.")
+  void attributesSteps() throws IOException {
+    // GIVEN
+    var memory =
+        aMemory()
+            .with(OUTER, PrimitiveFactory.DOCOL())
+            .with(OUTER + 1, callTo(INNER))
+            .with(OUTER + 2, callTo(INNER))
+            .with(OUTER + 3, PrimitiveFactory.EXIT())
+            .with(INNER, PrimitiveFactory.DOCOL())
+            .with(INNER + 1, PrimitiveFactory.DUP())
+            .with(INNER + 2, PrimitiveFactory.MUL())
+            .with(INNER + 3, PrimitiveFactory.EXIT());
+    var machine = machineWith(memory, 3);
+    var profiler = new Profiler();
+    machine.setProfiler(profiler);
+
+    // WHEN
+    call(machine);
+
+    // THEN
+    assertThat(machine.popFromParameterStack()).isEqualTo(81);
+    assertThat(profiler.getProfiles())
+        .extracting(
+            Profiler.WordProfile::name,
+            Profiler.WordProfile::calls,
+            Profiler.WordProfile::inclusiveSteps,
+            Profiler.WordProfile::exclusiveSteps)
+        .containsExactly(
+            tuple("INNER", 2L, 6L, 6L),
+            tuple("OUTER", 1L, 11L, 5L));
+    assertThat(collapsedStacks(profiler).lines())
+        .containsExactlyInAnyOrder("[top] 1", "OUTER 5", "OUTER;INNER 6");
+  }
+
+  @Test
+  @DisplayName("should close the frames whose return addresses were dropped.")
+  void followsReturnStack() throws IOException {
+    // GIVEN
+    var memory =
+        aMemory()
+            .with(OUTER, PrimitiveFactory.DOCOL())
+            .with(OUTER + 1, callTo(INNER))
+            .with(OUTER + 2, PrimitiveFactory.EXIT())
+            .with(INNER, PrimitiveFactory.DOCOL())
+            .with(INNER + 1, PrimitiveFactory.RDROP())
+            .with(INNER + 2, PrimitiveFactory.EXIT());
+    var machine = machineWith(memory);
+    var profiler = new Profiler();
+    machine.setProfiler(profiler);
+
+    // WHEN
+    call(machine);
+    call(machine);
+
+    // THEN
+    assertThat(collapsedStacks(profiler).lines())
+        .containsExactlyInAnyOrder("[top] 2", "OUTER 4", "OUTER;INNER 4");
+  }
+
+  @Test
+  @DisplayName("should forget what was recorded when reset.")
+  void reset() throws IOException {
+    // GIVEN
+    var memory =
+        aMemory()
+            .with(OUTER, PrimitiveFactory.DOCOL())
+            .with(OUTER + 1, PrimitiveFactory.EXIT());
+    var machine = machineWith(memory);
+    var profiler = new Profiler();
+    machine.setProfiler(profiler);
+    call(machine);
+
+    // WHEN
+    profiler.reset();
+
+    // THEN
+    assertThat(profiler.getProfiles()).isEmpty();
+    assertThat(collapsedStacks(profiler)).isEmpty();
+  }
+}
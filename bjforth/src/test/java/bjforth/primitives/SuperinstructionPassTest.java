@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.MachineAssertions.assertThat;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+import static bjforth.primitives.WordFixtures.runUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import bjforth.machine.MachineStateBuilder;
+import bjforth.variables.Variables;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SuperinstructionPassTest {
+
+  private static final int START = 100;
+
+  private static List<Object> program(int zbranchParameter) {
+    return List.of(
+        PrimitiveFactory.LIT(), 5, PrimitiveFactory.ADD(), // 100
+        PrimitiveFactory.LIT(), 2, PrimitiveFactory.SUB(), // 103
+        PrimitiveFactory.LIT(), 3, PrimitiveFactory.MUL(), // 106
+        PrimitiveFactory.OVER(), PrimitiveFactory.OVER(), // 109
+        PrimitiveFactory.SWAP(), PrimitiveFactory.DROP(), // 111
+        PrimitiveFactory.LIT(), zbranchParameter, // 113
+        PrimitiveFactory.DUP(), PrimitiveFactory.ZBRANCH(), 2, // 115
+        PrimitiveFactory.DROP(), // 118
+        PrimitiveFactory.LIT(), 200, // 119
+        PrimitiveFactory.FETCH(), PrimitiveFactory.INCR(), PrimitiveFactory.STORE()); // 121
+  }
+
+  /** {@code program} as the body of a colon definition, starting at {@link #START}. */
+  private static MachineStateBuilder stateWith(List<Object> program) {
+    var memory =
+        aMemory()
+            .with(Variables.HERE().getAddress(), START + program.size())
+            .with(START - 1, PrimitiveFactory.DOCOL())
+            .withCells(START, program)
+            .with(200, 300);
+    return aMachineState()
+        .withInstrcutionPointer(START)
+        .withNextInstructionPointer(START + 1)
+        .withMemory(memory.build())
+        .withParameterStack(aParameterStack().with("x", 7).build());
+  }
+
+  @DisplayName("fused code should end up in the same state as the threaded code.")
+  @ParameterizedTest(name = "{displayName} zbranchParameter={0}")
+  @ValueSource(ints = {0, 1})
+  void sameBehaviour(int zbranchParameter) {
+    // GIVEN
+    var program = program(zbranchParameter);
+    var end = START + program.size();
+    var threadedState = stateWith(program).build();
+    var fusedState = stateWith(program).build();
+    var threaded = aMachine().withState(threadedState).build();
+    var fused = aMachine().withState(fusedState).build();
+
+    // WHEN
+    var count = new SuperinstructionPass(FusionTable.defaults()).fuse(fused);
+    runUntil(threaded, end);
+    runUntil(fused, end);
+
+    // THEN
+    assertThat(count).isEqualTo(7);
+    assertThat(fused.getMemoryAt(START)).isInstanceOf(LITADD.class);
+    assertThat(fused.getMemoryAt(START + 1)).isEqualTo(5);
+    assertThat(fused.getMemoryAt(START + 2)).isSameAs(PrimitiveFactory.ADD());
+    assertThat(fusedState)
+        .hasNextInstructionPointerEqualTo(threadedState)
+        .hasParameterStackEqualTo(threadedState)
+        .hasReturnStackEqualTo(threadedState);
+    assertThat(fused.getMemoryAt(301)).isEqualTo(threaded.getMemoryAt(301));
+  }
+
+  @Test
+  @DisplayName("unfusing should restore the original threaded code.")
+  void reversible() {
+    // GIVEN
+    var original = stateWith(program(0)).build();
+    var state = aMachineState().copyFrom(original).build();
+    var machine = aMachine().withState(state).build();
+    var pass = new SuperinstructionPass(FusionTable.defaults());
+
+    // WHEN
+    pass.fuse(machine);
+    var count = pass.unfuse(machine);
+
+    // THEN
+    assertThat(count).isEqualTo(7);
+    assertThat(state).isEqualTo(original);
+  }
+
+  @Test
+  @DisplayName("user-registered sequences should be fused too.")
+  void customSequence() {
+    // GIVEN
+    var program =
+        List.<Object>of(PrimitiveFactory.LIT(), 1, PrimitiveFactory.SWAP(), PrimitiveFactory.TOR());
+    var end = START + program.size();
+    var threadedState = stateWith(program).build();
+    var fusedState = stateWith(program).build();
+    var threaded = aMachine().withState(threadedState).build();
+    var fused = aMachine().withState(fusedState).build();
+    var table =
+        new FusionTable()
+            .register(PrimitiveFactory.LIT(), PrimitiveFactory.SWAP(), PrimitiveFactory.TOR());
+
+    // WHEN
+    var count = new SuperinstructionPass(table).fuse(fused);
+    runUntil(threaded, end);
+    runUntil(fused, end);
+
+    // THEN
+    assertThat(count).isEqualTo(1);
+    assertThat(fusedState)
+        .hasNextInstructionPointerEqualTo(threadedState)
+        .hasParameterStackEqualTo(threadedState)
+        .hasReturnStackEqualTo(threadedState);
+  }
+
+  @Test
+  @DisplayName("should leave alone the cells which aren't in the body of a colon definition.")
+  void colonDefinitionsOnly() {
+    // GIVEN
+    var memory =
+        aMemory()
+            .with(Variables.HERE().getAddress(), START + 5)
+            .with(START, "X")
+            .with(START + 1, PrimitiveFactory.DUP())
+            .with(START + 2, PrimitiveFactory.LIT())
+            .with(START + 3, 5)
+            .with(START + 4, PrimitiveFactory.ADD());
+    var original = aMachineState().withMemory(memory.build()).build();
+    var state = aMachineState().copyFrom(original).build();
+    var machine = aMachine().withState(state).build();
+
+    // WHEN
+    var count = new SuperinstructionPass(FusionTable.defaults()).fuse(machine);
+
+    // THEN
+    assertThat(count).isZero();
+    assertThat(state).isEqualTo(original);
+  }
+
+  @DisplayName("should only fuse a primitive which may transfer control as the last one.")
+  @ParameterizedTest(name = "{displayName} primitive={0}")
+  @ValueSource(strings = {"BRANCH", "ZBRANCH", "EXIT", "DOCOL", "HALT", "BYE", "KEY", "WORD"})
+  void transferringControl(String name) {
+    // GIVEN
+    var primitive = PrimitiveFactory.byName(name).orElseThrow();
+
+    // EXPECT
+    assertThat(new FusedPrimitive(PrimitiveFactory.DUP(), primitive).getComponents())
+        .containsExactly(PrimitiveFactory.DUP(), primitive);
+    assertThatThrownBy(() -> new FusedPrimitive(primitive, PrimitiveFactory.DUP()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("should only fuse a primitive from outside the registry as the last one.")
+  void unregisteredPrimitive() {
+    // GIVEN
+    Primitive primitive = machine -> {};
+
+    // EXPECT
+    assertThatThrownBy(() -> new FusedPrimitive(primitive, PrimitiveFactory.DUP()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
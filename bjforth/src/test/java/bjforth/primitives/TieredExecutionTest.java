@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.primitives.WordFixtures.COUNTDOWN;
+import static bjforth.primitives.WordFixtures.RETURN_ADDR;
+import static bjforth.primitives.WordFixtures.WORD;
+import static bjforth.primitives.WordFixtures.aStateCalling;
+import static bjforth.primitives.WordFixtures.call;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import bjforth.machine.DictionaryItem;
+import bjforth.machine.RunStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TieredExecutionTest {
+
+  @Test
+  @DisplayName("should compile a word once it has been called often enough.")
+  void invocationThreshold() {
+    // GIVEN
+    var machine = aMachine().withState(aStateCalling(COUNTDOWN, 0, 0, 0).build()).build();
+    var tiering = new TieredExecution(2, 1000);
+    machine.setTieringHook(tiering);
+    var item = new DictionaryItem("COUNTDOWN", WORD - 1, false, false);
+
+    // WHEN
+    call(machine);
+
+    // THEN
+    assertThat(tiering.getInvocationCount(item)).isEqualTo(1);
+    assertThat(machine.getMemoryAt(WORD)).isSameAs(PrimitiveFactory.DOCOL());
+
+    // WHEN
+    call(machine);
+    call(machine);
+
+    // THEN
+    assertThat(tiering.isPromoted(item)).isTrue();
+    assertThat(machine.getMemoryAt(WORD)).isInstanceOf(CompiledWord.class);
+    assertThat(machine.popFromParameterStack()).isEqualTo(0);
+  }
+
+  @Test
+  @DisplayName("should compile a word whose loop has gone round often enough.")
+  void backEdgeThreshold() {
+    // GIVEN
+    var machine = aMachine().withState(aStateCalling(COUNTDOWN, 10).build()).build();
+    var tiering = new TieredExecution(1000, 5);
+    machine.setTieringHook(tiering);
+    var item = new DictionaryItem("COUNTDOWN", WORD - 1, false, false);
+
+    // WHEN
+    call(machine);
+
+    // THEN
+    assertThat(tiering.getInvocationCount(item)).isEqualTo(1);
+    assertThat(tiering.getBackEdgeCount(item)).isGreaterThanOrEqualTo(5);
+    assertThat(machine.getMemoryAt(WORD)).isInstanceOf(CompiledWord.class);
+    assertThat(machine.popFromParameterStack()).isEqualTo(0);
+  }
+
+  @Test
+  @DisplayName("should put the threaded code back when the word is redefined.")
+  void redefinition() {
+    // GIVEN
+    var machine = aMachine().withState(aStateCalling(COUNTDOWN, 0).build()).build();
+    var tiering = new TieredExecution(1, 1000);
+    machine.setTieringHook(tiering);
+    var item = new DictionaryItem("COUNTDOWN", WORD - 1, false, false);
+    machine.createDictionaryItem("COUNTDOWN", item);
+    call(machine);
+
+    // WHEN
+    machine.createDictionaryItem("COUNTDOWN", new DictionaryItem("COUNTDOWN", 200, false, false));
+
+    // THEN
+    assertThat(tiering.isPromoted(item)).isFalse();
+    assertThat(tiering.getInvocationCount(item)).isZero();
+    assertThat(machine.getMemoryAt(WORD)).isSameAs(PrimitiveFactory.DOCOL());
+  }
+
+  @Test
+  @DisplayName("should put the threaded code back when the word is HIDDEN.")
+  void hidden() {
+    // GIVEN
+    var machine = aMachine().withState(aStateCalling(COUNTDOWN, 0).build()).build();
+    var tiering = new TieredExecution(1, 1000);
+    machine.setTieringHook(tiering);
+    var item = new DictionaryItem("COUNTDOWN", WORD - 1, false, false);
+    machine.createDictionaryItem("COUNTDOWN", item);
+    call(machine);
+    machine.pushToParameterStack(WORD - 1);
+
+    // WHEN
+    new HIDDEN().execute(machine);
+
+    // THEN
+    assertThat(tiering.isPromoted(item)).isFalse();
+    assertThat(machine.getMemoryAt(WORD)).isSameAs(PrimitiveFactory.DOCOL());
+  }
+
+  @Test
+  @DisplayName("should put the threaded code back when a cell the word was compiled from changes.")
+  void written() {
+    // GIVEN
+    var machine = aMachine().withState(aStateCalling(COUNTDOWN, 0, 0).build()).build();
+    var tiering = new TieredExecution(2, 1000);
+    machine.setTieringHook(tiering);
+    var item = new DictionaryItem("COUNTDOWN", WORD - 1, false, false);
+    call(machine);
+    call(machine);
+
+    // WHEN
+    machine.setMemoryAt(WORD + 5, -2);
+
+    // THEN
+    assertThat(tiering.isPromoted(item)).isFalse();
+    assertThat(machine.getMemoryAt(WORD)).isSameAs(PrimitiveFactory.DOCOL());
+
+    // WHEN
+    machine.pushToParameterStack(4);
+    call(machine);
+
+    // THEN
+    assertThat(tiering.getBackEdgeCount(item)).isEqualTo(2);
+    assertThat(machine.popFromParameterStack()).isEqualTo(0);
+  }
+
+  @Test
+  @DisplayName("a promoted loop should still stop when the machine's slice is used up.")
+  void promotedLoopYields() {
+    // GIVEN
+    var machine = aMachine().withState(aStateCalling(COUNTDOWN, 1_000_000_000, 0).build()).build();
+    machine.setTieringHook(new TieredExecution(1, 1000));
+    call(machine);
+    machine.popFromParameterStack();
+    machine.setNextInstructionPointer(RETURN_ADDR);
+    machine.jumpTo(WORD);
+    var steps = machine.getSteps();
+
+    // WHEN
+    var status = machine.runFor(10_000);
+
+    // THEN
+    assertThat(status).isEqualTo(RunStatus.OUT_OF_BUDGET);
+    assertThat(machine.getMemoryAt(WORD)).isInstanceOf(CompiledWord.class);
+    assertThat(machine.getSteps() - steps).isBetween(10_000L, 10_005L);
+    assertThat(machine.getInstrcutionPointer()).isBetween(WORD, WORD + 9);
+  }
+}
@@ -26,9 +26,15 @@ import static bjforth.machine.MemoryBuilder.aMemory;
 import static bjforth.machine.NextInstructionPointerBuilder.aNextInstructionPointer;
 import static bjforth.machine.ParameterStackBuilder.aParameterStack;
 import static bjforth.utils.RandomUtils.nextInt;
+import static org.assertj.core.api.Assertions.assertThat;
 
+import bjforth.machine.InputSource;
+import bjforth.machine.RunStatus;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -157,4 +163,126 @@ class WORDTest {
         .hasParameterStackEqualTo(aParameterStack().with(wordStr).build())
         .hasReturnStackEqualTo(state1);
   }
+
+  @DisplayName("carries on with the same word once the input it waited for arrives.")
+  @Test
+  void resumesAfterWaitingForInput() throws Exception {
+    // GIVEN
+    var input = new PipedOutputStream();
+    System.setIn(new PipedInputStream(input));
+    input.write("\\ comment\n  ab".getBytes());
+
+    var word = PrimitiveFactory.WORD();
+    var wordAddr = nextInt();
+    var ip = anInstructionPointer().with(wordAddr).build();
+    var nip = aNextInstructionPointer().with(ip).plus(1).build();
+    var state1 =
+        aMachineState()
+            .withInstrcutionPointer(ip)
+            .withNextInstructionPointer(nip)
+            .withMemory(aMemory().with(wordAddr, word).build())
+            .build();
+    var state2 = aMachineState().copyFrom(state1).build();
+    var machine = aMachine().withState(state2).build();
+
+    // WHEN
+    var blocked = machine.runFor(1);
+    input.write("cd ".getBytes());
+    // The input is picked up by a read in the background, so it may take a few slices.
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    var resumed = machine.runFor(1);
+    while (resumed == RunStatus.BLOCKED_ON_INPUT && System.nanoTime() - deadline < 0) {
+      Thread.sleep(1);
+      resumed = machine.runFor(1);
+    }
+
+    // THEN
+    assertThat(blocked).isEqualTo(RunStatus.BLOCKED_ON_INPUT);
+    assertThat(resumed).isEqualTo(RunStatus.OUT_OF_BUDGET);
+    assertThat(state2)
+        .hasInstructionPointerEqualTo(anInstructionPointer().with(state1).plus(1).build())
+        .hasNextInstructionPointerEqualTo(aNextInstructionPointer().with(state1).plus(1).build())
+        .hasParameterStackEqualTo(aParameterStack().with("abcd").build())
+        .hasReturnStackEqualTo(state1);
+  }
+
+  @DisplayName("reads consecutive words from an in-memory input source.")
+  @Test
+  void readsFromInputSource() {
+    // GIVEN
+    var word = PrimitiveFactory.WORD();
+    var wordAddr = nextInt();
+    var ip = anInstructionPointer().with(wordAddr).build();
+    var nip = aNextInstructionPointer().with(ip).plus(1).build();
+    var state1 =
+        aMachineState()
+            .withInstrcutionPointer(ip)
+            .withNextInstructionPointer(nip)
+            .withMemory(aMemory().with(wordAddr, word).with(wordAddr + 1, word).build())
+            .build();
+    var state2 = aMachineState().copyFrom(state1).build();
+    var machine = aMachine().withState(state2).build();
+    machine.setInputSource(InputSource.of("\\ comment\n  ab cd "));
+
+    // WHEN
+    machine.step(2);
+
+    // THEN
+    assertThat(state2).hasParameterStackEqualTo(aParameterStack().with("ab", "cd").build());
+  }
+
+  @DisplayName("ends a word at any blank, not only at space.")
+  @Test
+  void endsAtAnyBlank() {
+    // GIVEN
+    var word = PrimitiveFactory.WORD();
+    var wordAddr = nextInt();
+    var ip = anInstructionPointer().with(wordAddr).build();
+    var nip = aNextInstructionPointer().with(ip).plus(1).build();
+    var state1 =
+        aMachineState()
+            .withInstrcutionPointer(ip)
+            .withNextInstructionPointer(nip)
+            .withMemory(
+                aMemory()
+                    .with(wordAddr, word)
+                    .with(wordAddr + 1, word)
+                    .with(wordAddr + 2, word)
+                    .build())
+            .build();
+    var state2 = aMachineState().copyFrom(state1).build();
+    var machine = aMachine().withState(state2).build();
+    machine.setInputSource(InputSource.of("ab\tcd\r\nef\n"));
+
+    // WHEN
+    machine.step(3);
+
+    // THEN
+    assertThat(state2).hasParameterStackEqualTo(aParameterStack().with("ab", "cd", "ef").build());
+  }
+
+  @DisplayName("returns the word cut short by the end of the input.")
+  @Test
+  void partialWordAtEndOfInput() {
+    // GIVEN
+    var word = PrimitiveFactory.WORD();
+    var wordAddr = nextInt();
+    var ip = anInstructionPointer().with(wordAddr).build();
+    var nip = aNextInstructionPointer().with(ip).plus(1).build();
+    var state1 =
+        aMachineState()
+            .withInstrcutionPointer(ip)
+            .withNextInstructionPointer(nip)
+            .withMemory(aMemory().with(wordAddr, word).build())
+            .build();
+    var state2 = aMachineState().copyFrom(state1).build();
+    var machine = aMachine().withState(state2).build();
+    machine.setInputSource(InputSource.of(" abc"));
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(state2).hasParameterStackEqualTo(aParameterStack().with("abc").build());
+  }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of BJForth.
+ *
+ * BJForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * BJForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BJForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.MachineAssertions.assertThat;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+import static bjforth.machine.ReturnStackBuilder.aReturnStack;
+import static bjforth.primitives.WordFixtures.COUNTDOWN;
+import static bjforth.primitives.WordFixtures.RETURN_ADDR;
+import static bjforth.primitives.WordFixtures.WORD;
+import static bjforth.primitives.WordFixtures.aStateCalling;
+import static bjforth.primitives.WordFixtures.runUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import bjforth.machine.ExecutionTrace;
+import bjforth.machine.MachineException;
+import bjforth.machine.RunStatus;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class WordCompilerTest {
+
+  @DisplayName("compiled code should end up in the same state as the threaded code.")
+  @ParameterizedTest(name = "{displayName} n={0}")
+  @ValueSource(ints = {0, 1, 1000})
+  void sameBehaviour(int n) {
+    // GIVEN
+    var threadedState = aStateCalling(COUNTDOWN, n).build();
+    var compiledState = aStateCalling(COUNTDOWN, n).build();
+    var threaded = aMachine().withState(threadedState).build();
+    var compiled = aMachine().withState(compiledState).build();
+    new WordCompiler().install(compiled, WORD);
+
+    // WHEN
+    runUntil(threaded, RETURN_ADDR);
+    compiled.step();
+
+    // THEN
+    assertThat(compiledState)
+        .hasInstructionPointerEqualTo(threadedState)
+        .hasNextInstructionPointerEqualTo(threadedState)
+        .hasParameterStackEqualTo(threadedState)
+        .hasReturnStackEqualTo(threadedState);
+  }
+
+  @Test
+  @DisplayName("a compiled loop should count its steps and hand over when the slice is used up.")
+  void yieldsToSlice() {
+    // GIVEN
+    var state = aStateCalling(COUNTDOWN, 1_000_000).build();
+    var machine = aMachine().withState(state).build();
+    new WordCompiler().install(machine, WORD);
+
+    // WHEN
+    var status = machine.runFor(100);
+
+    // THEN
+    assertThat(status).isEqualTo(RunStatus.OUT_OF_BUDGET);
+    assertThat(machine.getSteps()).isBetween(100L, 105L);
+    assertThat(state)
+        .hasInstructionPointerEqualTo(WORD + 1)
+        .hasNextInstructionPointerEqualTo(WORD + 2)
+        .hasParameterStackEqualTo(aParameterStack().with(1_000_000 - 20).build());
+
+    // WHEN
+    runUntil(machine, RETURN_ADDR);
+
+    // THEN
+    assertThat(state).hasParameterStackEqualTo(aParameterStack().with(0).build());
+  }
+
+  @Test
+  @DisplayName("a compiled loop should hand over to the interpreter while steps are traced.")
+  void yieldsToTrace() {
+    // GIVEN
+    var state = aStateCalling(COUNTDOWN, 1000).build();
+    var machine = aMachine().withState(state).build();
+    new WordCompiler().install(machine, WORD);
+    machine.setExecutionTrace(new ExecutionTrace(4));
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(state)
+        .hasInstructionPointerEqualTo(WORD + 1)
+        .hasNextInstructionPointerEqualTo(WORD + 2)
+        .hasParameterStackEqualTo(aParameterStack().with(999).build());
+  }
+
+  @Test
+  @DisplayName("should leave the registers pointing to the cell which threw.")
+  void throwing() {
+    // GIVEN
+    var threadedState = aStateCalling(COUNTDOWN, "not a number").build();
+    var compiledState = aStateCalling(COUNTDOWN, "not a number").build();
+    var threaded = aMachine().withState(threadedState).build();
+    var compiled = aMachine().withState(compiledState).build();
+    new WordCompiler().install(compiled, WORD);
+
+    // EXPECT
+    assertThatThrownBy(
+            () -> {
+              while (true) threaded.step();
+            })
+        .isInstanceOf(MachineException.class);
+    assertThatThrownBy(compiled::step).isInstanceOf(MachineException.class);
+    assertThat(compiledState)
+        .hasInstructionPointerEqualTo(threadedState)
+        .hasNextInstructionPointerEqualTo(threadedState)
+        .hasParameterStackEqualTo(threadedState)
+        .hasReturnStackEqualTo(threadedState);
+  }
+
+  @Test
+  @DisplayName("should hand over to the interpreter at cells it can't compile.")
+  void resumesInterpreter() {
+    // GIVEN
+    var word =
+        List.<Object>of(
+            PrimitiveFactory.DOCOL(), PrimitiveFactory.DUP(), "not code", PrimitiveFactory.EXIT());
+    var state = aStateCalling(word, 1).build();
+    var machine = aMachine().withState(state).build();
+    new WordCompiler().install(machine, WORD);
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(state)
+        .hasInstructionPointerEqualTo(WORD + 2)
+        .hasNextInstructionPointerEqualTo(WORD + 3)
+        .hasParameterStackEqualTo(aParameterStack().with(1, 1).build())
+        .hasReturnStackEqualTo(aReturnStack().with(RETURN_ADDR).build());
+  }
+
+  @Test
+  @DisplayName("should run a primitive from outside the registry with the registers in sync.")
+  void unregisteredPrimitive() {
+    // GIVEN
+    Primitive jump = machine -> machine.setNextInstructionPointer(RETURN_ADDR);
+    var word = List.<Object>of(PrimitiveFactory.DOCOL(), jump, PrimitiveFactory.EXIT());
+    var threadedState = aStateCalling(word).build();
+    var compiledState = aStateCalling(word).build();
+    var threaded = aMachine().withState(threadedState).build();
+    var compiled = aMachine().withState(compiledState).build();
+    new WordCompiler().install(compiled, WORD);
+
+    // WHEN
+    runUntil(threaded, RETURN_ADDR);
+    compiled.step();
+
+    // THEN
+    assertThat(compiledState)
+        .hasInstructionPointerEqualTo(threadedState)
+        .hasNextInstructionPointerEqualTo(threadedState)
+        .hasReturnStackEqualTo(threadedState);
+  }
+
+  @Test
+  @DisplayName("should put DOCOL back when uninstalled.")
+  void uninstall() {
+    // GIVEN
+    var original = aStateCalling(COUNTDOWN, 1).build();
+    var state = aMachineState().copyFrom(original).build();
+    var machine = aMachine().withState(state).build();
+    var compiled = new WordCompiler().install(machine, WORD);
+
+    // WHEN
+    WordCompiler.uninstall(machine, WORD);
+
+    // THEN
+    assertThat(compiled.getOriginal()).isSameAs(PrimitiveFactory.DOCOL());
+    assertThat(state).isEqualTo(original);
+  }
+
+  @Test
+  @DisplayName("should refuse to compile anything but a colon definition.")
+  void notColonDefinition() {
+    // GIVEN
+    var machine = aMachine().withState(aStateCalling(COUNTDOWN.subList(1, 4)).build()).build();
+
+    // EXPECT
+    assertThatThrownBy(() -> new WordCompiler().compile(machine, WORD))
+        .isInstanceOf(MachineException.class);
+  }
+}